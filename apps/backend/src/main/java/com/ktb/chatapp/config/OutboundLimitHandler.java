@@ -0,0 +1,232 @@
+package com.ktb.chatapp.config;
+
+import com.corundumstudio.socketio.Transport;
+import com.corundumstudio.socketio.messages.OutPacketMessage;
+import com.corundumstudio.socketio.protocol.Packet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.AttributeKey;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 연결별 송신 버퍼 한도와 느린 클라이언트 처리
+ * 송신 버퍼가 high water mark를 넘으면(channel unwritable) websocket 연결은 인코딩을 미뤄
+ * 패킷을 클라이언트 큐에 남겨 두고, 그동안 버려도 되는 이벤트(읽음 상태, AI 청크 등)는 버리고
+ * 최신 상태만 의미 있는 이벤트(참가자 목록)는 마지막 것만 남긴다. 쓰기 가능해지면 남은 패킷을 보낸다.
+ * 한도를 slow-consumer-timeout 이상 넘기고 있거나 대기 바이트/패킷이 상한을 넘으면 연결을 끊는다.
+ * Socket.IO 인코더 앞(tail 쪽)에 두어 인코딩 전에 패킷 큐를 거른다.
+ */
+@Slf4j
+@ChannelHandler.Sharable
+class OutboundLimitHandler extends ChannelDuplexHandler {
+
+    static final String NAME = "outboundLimit";
+
+    private static final AttributeKey<Long> SLOW_SINCE = AttributeKey.valueOf("outboundSlowSince");
+    private static final AttributeKey<OutPacketMessage> DEFERRED = AttributeKey.valueOf("outboundDeferred");
+
+    private final WriteBufferWaterMark waterMark;
+    private final long maxPendingBytes;
+    private final int maxQueuedPackets;
+    private final long slowConsumerTimeoutNanos;
+    private final Set<String> droppableEvents;
+    private final Set<String> collapsibleEvents;
+    private final LongSupplier nanoTime;
+
+    private final AtomicInteger slowConsumers = new AtomicInteger();
+    private final Counter slowConsumerCounter;
+    private final Counter disconnectCounter;
+    private final Map<String, Counter> droppedCounters = new HashMap<>();
+    private final Map<String, Counter> collapsedCounters = new HashMap<>();
+
+    OutboundLimitHandler(WriteBufferWaterMark waterMark, long maxPendingBytes, int maxQueuedPackets,
+                         Duration slowConsumerTimeout, Set<String> droppableEvents, Set<String> collapsibleEvents,
+                         MeterRegistry meterRegistry) {
+        this(waterMark, maxPendingBytes, maxQueuedPackets, slowConsumerTimeout, droppableEvents, collapsibleEvents,
+                meterRegistry, System::nanoTime);
+    }
+
+    OutboundLimitHandler(WriteBufferWaterMark waterMark, long maxPendingBytes, int maxQueuedPackets,
+                         Duration slowConsumerTimeout, Set<String> droppableEvents, Set<String> collapsibleEvents,
+                         MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.waterMark = waterMark;
+        this.maxPendingBytes = maxPendingBytes;
+        this.maxQueuedPackets = maxQueuedPackets;
+        this.slowConsumerTimeoutNanos = slowConsumerTimeout.toNanos();
+        this.droppableEvents = Set.copyOf(droppableEvents);
+        // 둘 다 지정된 이벤트는 버리는 쪽을 따름
+        Set<String> collapsible = new HashSet<>(collapsibleEvents);
+        collapsible.removeAll(this.droppableEvents);
+        this.collapsibleEvents = Set.copyOf(collapsible);
+        this.nanoTime = nanoTime;
+
+        Gauge.builder("socketio.slow_consumers", slowConsumers, AtomicInteger::get)
+                .description("Connections whose outbound buffer is above the high water mark")
+                .register(meterRegistry);
+        this.slowConsumerCounter = Counter.builder("socketio.slow_consumer.events")
+                .description("Times a connection went above the outbound high water mark")
+                .register(meterRegistry);
+        this.disconnectCounter = Counter.builder("socketio.slow_consumer.disconnects")
+                .description("Connections closed for staying above the outbound limit")
+                .register(meterRegistry);
+        for (String event : this.droppableEvents) {
+            droppedCounters.put(event, shedCounter(meterRegistry, event, "dropped"));
+        }
+        for (String event : this.collapsibleEvents) {
+            collapsedCounters.put(event, shedCounter(meterRegistry, event, "collapsed"));
+        }
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String event, String action) {
+        return Counter.builder("socketio.outbound.shed")
+                .tag("event", event)
+                .tag("action", action)
+                .description("Low priority events not sent to slow connections")
+                .register(meterRegistry);
+    }
+
+    WriteBufferWaterMark waterMark() {
+        return waterMark;
+    }
+
+    int slowConsumers() {
+        return slowConsumers.get();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        Channel channel = ctx.channel();
+        if (msg instanceof OutPacketMessage out && !channel.isWritable()) {
+            Queue<Packet> packets = out.getClientHead().getPacketsQueue(out.getTransport());
+            shed(packets);
+            if (overLimit(channel, packets)) {
+                disconnectCounter.increment();
+                log.warn("Closing slow Socket.IO connection - sessionId: {}, pendingBytes: {}",
+                        out.getSessionId(), pendingBytes(channel));
+                packets.clear();
+                ctx.close();
+                promise.tryFailure(new ClosedChannelException());
+                return;
+            }
+            if (out.getTransport() == Transport.WEBSOCKET) {
+                // 쓰기 가능해질 때까지 인코딩을 미루고 패킷은 클라이언트 큐에 남겨 둔다
+                channel.attr(DEFERRED).set(out);
+                promise.trySuccess();
+                return;
+            }
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Channel channel = ctx.channel();
+        if (!channel.isWritable()) {
+            markSlow(channel);
+        } else {
+            if (channel.attr(SLOW_SINCE).getAndSet(null) != null) {
+                slowConsumers.decrementAndGet();
+            }
+            OutPacketMessage deferred = channel.attr(DEFERRED).getAndSet(null);
+            if (deferred != null) {
+                ctx.writeAndFlush(deferred);
+            }
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        // 앞 단 핸들러가 channelInactive를 전달하지 않아도 gauge가 남지 않도록 close 시점에 정리
+        Channel channel = ctx.channel();
+        channel.closeFuture().addListener(future -> {
+            if (channel.attr(SLOW_SINCE).getAndSet(null) != null) {
+                slowConsumers.decrementAndGet();
+            }
+        });
+    }
+
+    private long markSlow(Channel channel) {
+        long now = nanoTime.getAsLong();
+        Long since = channel.attr(SLOW_SINCE).setIfAbsent(now);
+        if (since != null) {
+            return since;
+        }
+        slowConsumers.incrementAndGet();
+        slowConsumerCounter.increment();
+        return now;
+    }
+
+    private boolean overLimit(Channel channel, Queue<Packet> packets) {
+        // 쓰기 가능 상태 변경 이벤트보다 write가 먼저 올 수 있으므로 여기서도 기록
+        long since = markSlow(channel);
+        return nanoTime.getAsLong() - since >= slowConsumerTimeoutNanos
+                || pendingBytes(channel) > maxPendingBytes
+                || packets.size() > maxQueuedPackets;
+    }
+
+    // unwritable 상태에서 bytesBeforeWritable은 (대기 바이트 - low water mark)
+    private long pendingBytes(Channel channel) {
+        return channel.bytesBeforeWritable() + waterMark.low();
+    }
+
+    /**
+     * 인코딩 대기 패킷 중 버릴 이벤트는 제거하고, 최신 상태 이벤트는 같은 이름의 마지막 것만 남긴다.
+     * 큐는 다른 스레드가 계속 추가하므로 순서를 유지하는 iterator.remove만 사용한다.
+     */
+    void shed(Queue<Packet> packets) {
+        Map<String, Packet> latest = null;
+        if (!collapsibleEvents.isEmpty()) {
+            for (Packet packet : packets) {
+                String name = packet.getName();
+                if (name != null && collapsibleEvents.contains(name)) {
+                    if (latest == null) {
+                        latest = new HashMap<>();
+                    }
+                    latest.put(name, packet);
+                }
+            }
+        }
+
+        Set<String> passedLatest = null;
+        for (Iterator<Packet> iterator = packets.iterator(); iterator.hasNext(); ) {
+            Packet packet = iterator.next();
+            String name = packet.getName();
+            if (name == null) {
+                continue;
+            }
+            if (droppableEvents.contains(name)) {
+                iterator.remove();
+                droppedCounters.get(name).increment();
+            } else if (latest != null && latest.containsKey(name)) {
+                if (latest.get(name) == packet) {
+                    if (passedLatest == null) {
+                        passedLatest = new HashSet<>();
+                    }
+                    passedLatest.add(name);
+                } else if (passedLatest == null || !passedLatest.contains(name)) {
+                    // 첫 순회 이후 추가된 패킷은 최신이므로 남긴다
+                    iterator.remove();
+                    collapsedCounters.get(name).increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ktb.chatapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기적 flush 작업(읽음 상태 병합 등)을 위한 스케줄링 설정.
+ * 스레드 수는 spring.task.scheduling.pool.size 로 조정한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
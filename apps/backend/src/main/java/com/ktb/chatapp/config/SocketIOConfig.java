@@ -6,10 +6,17 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.SpringAnnotationScanner;
 import com.corundumstudio.socketio.namespace.Namespace;
 import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
-import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.corundumstudio.socketio.store.RedissonPubSubStore;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
 import com.ktb.chatapp.websocket.socketio.RedisChatDataStore;
+import com.ktb.chatapp.websocket.socketio.store.RoomNodeDirectory;
+import com.ktb.chatapp.websocket.socketio.store.HybridStoreFactory;
+import com.ktb.chatapp.websocket.socketio.store.RoutedPubSubStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.WriteBufferWaterMark;
+import java.time.Duration;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,20 +41,75 @@ public class SocketIOConfig {
     @Value("${socketio.server.port:5002}")
     private Integer port;
 
+    // 0이면 Netty 기본값 (코어 수 x 2)
+    @Value("${socketio.server.boss-threads:1}")
+    private int bossThreads;
+
+    @Value("${socketio.server.worker-threads:0}")
+    private int workerThreads;
+
+    // Linux에서 사용 가능하면 native epoll, 아니면 NIO
+    @Value("${socketio.transport.native-epoll:true}")
+    private boolean nativeEpoll;
+
+    @Value("${socketio.socket.tcp-no-delay:true}")
+    private boolean tcpNoDelay;
+
+    @Value("${socketio.socket.accept-backlog:1024}")
+    private int acceptBacklog;
+
+    @Value("${socketio.socket.send-buffer-size:65536}")
+    private int sendBufferSize;
+
+    @Value("${socketio.socket.receive-buffer-size:65536}")
+    private int receiveBufferSize;
+
+    // 연결별 송신 버퍼: high를 넘으면 낮은 우선순위 이벤트를 버리고, 계속 넘겨 있으면 연결 종료
+    @Value("${socketio.outbound.low-water-mark:65536}")
+    private int outboundLowWaterMark;
+
+    @Value("${socketio.outbound.high-water-mark:262144}")
+    private int outboundHighWaterMark;
+
+    @Value("${socketio.outbound.max-pending-bytes:4194304}")
+    private long outboundMaxPendingBytes;
+
+    @Value("${socketio.outbound.max-queued-packets:1000}")
+    private int outboundMaxQueuedPackets;
+
+    @Value("${socketio.outbound.slow-consumer-timeout:PT15S}")
+    private Duration slowConsumerTimeout;
+
+    @Value("${socketio.outbound.droppable-events:messagesRead,aiMessageChunk}")
+    private Set<String> droppableEvents;
+
+    @Value("${socketio.outbound.collapsible-events:participantsUpdate}")
+    private Set<String> collapsibleEvents;
+
+    // 채팅방 브로드캐스트를 방에 소켓이 있는 노드에만 발행 (false면 모든 노드에 발행)
+    @Value("${socketio.routing.enabled:true}")
+    private boolean routingEnabled;
+
     @Bean(initMethod = "start", destroyMethod = "stop")
     public SocketIOServer socketIOServer(
             AuthTokenListener authTokenListener,
-            @Qualifier("socketIoRedisClient") RedissonClient socketIoRedissonClient) {
+            @Qualifier("socketIoRedisClient") RedissonClient socketIoRedissonClient,
+            RoomNodeDirectory roomNodeDirectory,
+            MeterRegistry meterRegistry) {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
         config.setHostname(host);
         config.setPort(port);
+        config.setBossThreads(bossThreads);
+        config.setWorkerThreads(workerThreads);
+        config.setUseLinuxNativeEpoll(SocketIOTransport.resolveNativeEpoll(nativeEpoll));
+        config.setPreferDirectBuffer(true);
         
         var socketConfig = new SocketConfig();
         socketConfig.setReuseAddress(true);
-        socketConfig.setTcpNoDelay(false);
-        socketConfig.setAcceptBackLog(10);
-        socketConfig.setTcpSendBufferSize(4096);
-        socketConfig.setTcpReceiveBufferSize(4096);
+        socketConfig.setTcpNoDelay(tcpNoDelay);
+        socketConfig.setAcceptBackLog(acceptBacklog);
+        socketConfig.setTcpSendBufferSize(sendBufferSize);
+        socketConfig.setTcpReceiveBufferSize(receiveBufferSize);
         config.setSocketConfig(socketConfig);
 
         config.setOrigin("*");
@@ -58,11 +120,20 @@ public class SocketIOConfig {
         config.setUpgradeTimeout(10000);
 
         config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule()));
-        config.setStoreFactory(new RedissonStoreFactory(socketIoRedissonClient));
+        // 클라이언트 store는 로컬 메모리, 노드 간 전달만 Redis pub/sub
+        config.setStoreFactory(new HybridStoreFactory(routingEnabled
+                ? new RoutedPubSubStore(socketIoRedissonClient, roomNodeDirectory, meterRegistry)
+                : new RedissonPubSubStore(socketIoRedissonClient, socketIoRedissonClient, roomNodeDirectory.nodeId())));
+
+        var outboundLimit = new OutboundLimitHandler(
+                new WriteBufferWaterMark(outboundLowWaterMark, outboundHighWaterMark),
+                outboundMaxPendingBytes, outboundMaxQueuedPackets, slowConsumerTimeout,
+                droppableEvents, collapsibleEvents, meterRegistry);
 
-        log.info("Socket.IO server configured on {}:{} with {} boss threads and {} worker threads",
-                 host, port, config.getBossThreads(), config.getWorkerThreads());
-        var socketIOServer = new SocketIOServer(config);
+        log.info("Socket.IO server configured on {}:{} - {}, outboundWaterMark={}/{}, maxPendingBytes={}",
+                host, port, SocketIOTransport.describe(config),
+                outboundLowWaterMark, outboundHighWaterMark, outboundMaxPendingBytes);
+        var socketIOServer = SocketIOTransport.newServer(config, outboundLimit);
         socketIOServer.getNamespace(Namespace.DEFAULT_NAME).addAuthTokenListener(authTokenListener);
         
         return socketIOServer;
@@ -0,0 +1,107 @@
+package com.ktb.chatapp.config;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOChannelInitializer;
+import com.corundumstudio.socketio.SocketConfig;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.util.NettyRuntime;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Socket.IO 서버의 Netty 전송 계층 설정
+ * Linux에서 native epoll을 쓸 수 있으면 사용하고 아니면 NIO로 대체하며,
+ * 서버/자식 채널 모두 pooled direct allocator를 사용한다.
+ */
+@Slf4j
+final class SocketIOTransport {
+
+    private SocketIOTransport() {
+    }
+
+    /**
+     * native epoll 사용 여부. 요청했지만 쓸 수 없으면 이유를 남기고 NIO로 대체한다.
+     */
+    static boolean resolveNativeEpoll(boolean requested) {
+        if (!requested) {
+            return false;
+        }
+        if (Epoll.isAvailable()) {
+            return true;
+        }
+        log.warn("Native epoll unavailable, falling back to NIO: {}", String.valueOf(Epoll.unavailabilityCause()));
+        return false;
+    }
+
+    /**
+     * 연결별 송신 버퍼 한도(write buffer water mark)와 느린 클라이언트 처리를 함께 적용한 서버
+     */
+    static SocketIOServer newServer(Configuration config, OutboundLimitHandler outboundLimit) {
+        SocketIOServer server = new PooledSocketIOServer(config, outboundLimit.waterMark());
+        server.setPipelineFactory(new OutboundLimitedChannelInitializer(outboundLimit));
+        return server;
+    }
+
+    /**
+     * 시작 시 출력할 전송 계층 요약
+     */
+    static String describe(Configuration config) {
+        SocketConfig socket = config.getSocketConfig();
+        PooledByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+        return String.format(
+                "transport=%s, bossThreads=%d, workerThreads=%d, allocator=pooled%s(directArenas=%d, heapArenas=%d, chunkSize=%d), "
+                        + "tcpNoDelay=%s, acceptBackLog=%d, sndBuf=%d, rcvBuf=%d",
+                config.isUseLinuxNativeEpoll() ? "epoll" : "nio",
+                threads(config.getBossThreads()), threads(config.getWorkerThreads()),
+                config.isPreferDirectBuffer() ? "-direct" : "-heap",
+                allocator.metric().numDirectArenas(), allocator.metric().numHeapArenas(),
+                allocator.metric().chunkSize(),
+                socket.isTcpNoDelay(), socket.getAcceptBackLog(),
+                socket.getTcpSendBufferSize(), socket.getTcpReceiveBufferSize());
+    }
+
+    // 0이면 Netty 기본값 (코어 수 x 2)
+    private static int threads(int configured) {
+        return configured > 0 ? configured : NettyRuntime.availableProcessors() * 2;
+    }
+
+    private static class PooledSocketIOServer extends SocketIOServer {
+
+        private final WriteBufferWaterMark waterMark;
+
+        PooledSocketIOServer(Configuration configuration, WriteBufferWaterMark waterMark) {
+            super(configuration);
+            this.waterMark = waterMark;
+        }
+
+        @Override
+        protected void applyConnectionOptions(ServerBootstrap bootstrap) {
+            super.applyConnectionOptions(bootstrap);
+            // -Dio.netty.allocator.type 설정과 관계없이 풀링 allocator 사용
+            bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            bootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark);
+        }
+    }
+
+    private static class OutboundLimitedChannelInitializer extends SocketIOChannelInitializer {
+
+        private final OutboundLimitHandler outboundLimit;
+
+        OutboundLimitedChannelInitializer(OutboundLimitHandler outboundLimit) {
+            this.outboundLimit = outboundLimit;
+        }
+
+        @Override
+        protected void addSocketioHandlers(ChannelPipeline pipeline) {
+            super.addSocketioHandlers(pipeline);
+            // outbound는 tail -> head 방향이므로 인코더 뒤에 두어야 인코딩 전에 패킷 큐를 볼 수 있다
+            pipeline.addAfter(SOCKETIO_ENCODER, OutboundLimitHandler.NAME, outboundLimit);
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.ktb.chatapp.controller;
 
+import com.ktb.chatapp.dto.ApiErrorCode;
 import com.ktb.chatapp.dto.StandardResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.MessageHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,48 +17,109 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 
 /**
  * 메시지 시스템 REST API 컨트롤러
  *
- * - GET /api/message/rooms/:roomId/messages → 500 에러 (미구현)
- * - 모든 메시지 기능은 Socket.IO를 통해 제공됨
+ * - GET /api/message/rooms/:roomId/messages → 메시지 히스토리 조회 (스트리밍 JSON)
+ * - 실시간 메시지 기능은 Socket.IO를 통해 제공됨
  */
-@Tag(name = "메시지 (Messages)", description = "메시지 관련 API (주의: 실제 메시지 기능은 Socket.IO를 통해 제공됩니다)")
+@Tag(name = "메시지 (Messages)", description = "메시지 히스토리 조회 API (실시간 메시지 기능은 Socket.IO를 통해 제공됩니다)")
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/message")
 public class MessageController {
 
+    private static final int DEFAULT_LIMIT = 30;
+    private static final String AUTH_TOKEN_HEADER = "x-auth-token";
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final MessageHistoryService messageHistoryService;
+
     /**
-     * 채팅방 메시지 조회 - 미구현 (500 반환)
-     * 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.
+     * 채팅방 메시지 히스토리 조회
+     * Socket.IO 'fetchPreviousMessages'와 같은 before(epoch millis) 커서를 사용한다.
+     * 응답은 스트리밍 JSON이며, 참여자 확인이 필요하므로 private 캐시에만 저장되게 한다.
+     * 범위 전체가 오래된 페이지는 본문 없이 만든 ETag와 제한된 max-age를 붙여, 재검증이 일치하면 페이지 조회 없이 304를 반환한다.
      */
     @Operation(
-        summary = "메시지 조회 (미구현)",
-        description = "이 엔드포인트는 미구현 상태입니다. 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.",
-        deprecated = true
+        summary = "메시지 히스토리 조회",
+        description = "before 이전 메시지를 최대 limit 개 시간 오름차순으로 조회합니다. "
+                + "다음 페이지는 응답의 nextBefore를 before로 전달합니다. 읽음 정보(readers)는 포함하지 않습니다."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "500", description = "미구현 엔드포인트",
-            content = @Content(schema = @Schema(implementation = StandardResponse.class),
-                examples = @ExampleObject(value = "{\"success\":false,\"message\":\"미구현.\"}")))
+        @ApiResponse(responseCode = "200", description = "메시지 조회 성공",
+            content = @Content(mediaType = "application/json",
+                examples = @ExampleObject(value = "{\"success\":true,\"data\":{\"messages\":[],\"hasMore\":false,\"nextBefore\":null}}"))),
+        @ApiResponse(responseCode = "304", description = "캐시된 페이지와 동일 (If-None-Match 일치)"),
+        @ApiResponse(responseCode = "403", description = "채팅방 참여자가 아님",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "404", description = "채팅방 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class)))
     })
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> loadMessages(
             @Parameter(description = "채팅방 ID") @PathVariable String roomId,
-            @Parameter(description = "이전 메시지 ID (페이지네이션)") @RequestParam(required = false) String before,
-            @Parameter(description = "조회할 메시지 개수", example = "30") @RequestParam(defaultValue = "30") Integer limit,
+            @Parameter(description = "이 시각(epoch millis) 이전 메시지 조회 (페이지네이션)") @RequestParam(required = false) Long before,
+            @Parameter(description = "조회할 메시지 개수 (최대 100)", example = "30") @RequestParam(defaultValue = "30") Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Principal principal) {
-        log.debug("Message REST API called - returning 500 (not implemented, use Socket.IO)");
-        
-        return ResponseEntity.status(500).body(
-                StandardResponse.error("미구현.")
-        );
+        User user = userRepository.findByEmail(principal.getName()).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(StandardResponse.error(ApiErrorCode.USER_NOT_FOUND));
+        }
+
+        Room room = roomRepository.findById(roomId).orElse(null);
+        if (room == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(StandardResponse.error(ApiErrorCode.ROOM_NOT_FOUND));
+        }
+        if (!room.getParticipantIds().contains(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(StandardResponse.error(ApiErrorCode.NOT_ROOM_MEMBER));
+        }
+
+        int pageSize = limit != null && limit > 0 ? Math.min(limit, MessageHistoryService.MAX_LIMIT) : DEFAULT_LIMIT;
+        StreamingResponseBody body = out -> messageHistoryService.writePage(out, roomId, before, pageSize);
+
+        // 참여자 확인이 필요한 응답이므로 공유 캐시에 두지 않고 브라우저 캐시와 재검증으로만 줄인다
+        if (!messageHistoryService.isStable(before)) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.AUTHORIZATION, AUTH_TOKEN_HEADER)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(messageHistoryService.getMaxAge()).cachePrivate();
+        String etag = messageHistoryService.stableEtagOf(roomId, before, pageSize);
+
+        // 일치하면 페이지 조회 없이 304
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION, AUTH_TOKEN_HEADER)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION, AUTH_TOKEN_HEADER)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
@@ -4,8 +4,9 @@ import com.ktb.chatapp.annotation.RateLimit;
 import com.ktb.chatapp.dto.*;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.RoomActivityCounter;
+import com.ktb.chatapp.service.RoomListCache;
 import com.ktb.chatapp.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,7 +28,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -39,7 +42,7 @@ import org.springframework.web.bind.annotation.*;
 public class RoomController {
 
     private final UserRepository userRepository;
-    private final MessageRepository messageRepository;
+    private final RoomActivityCounter roomActivityCounter;
     private final RoomService roomService;
 
     @Value("${spring.profiles.active:production}")
@@ -86,6 +89,9 @@ public class RoomController {
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "채팅방 목록 조회 성공",
             content = @Content(schema = @Schema(implementation = RoomsResponse.class))),
+        @ApiResponse(responseCode = "304", description = "캐시된 목록과 동일 (If-None-Match 일치)"),
+        @ApiResponse(responseCode = "400", description = "잘못된 커서",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
         @ApiResponse(responseCode = "401", description = "인증 실패",
             content = @Content(schema = @Schema(implementation = StandardResponse.class))),
         @ApiResponse(responseCode = "429", description = "요청 한도 초과",
@@ -102,6 +108,9 @@ public class RoomController {
             @Parameter(description = "정렬 필드", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortField,
             @Parameter(description = "정렬 순서 (asc/desc)", example = "desc") @RequestParam(defaultValue = "desc") String sortOrder,
             @Parameter(description = "검색어 (채팅방 이름)", example = "프로젝트") @RequestParam(required = false) String search,
+            @Parameter(description = "다음 페이지 커서 (createdAt 정렬, 이전 응답의 metadata.nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "전체 개수(근사값) 포함 여부", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Principal principal) {
 
         try {
@@ -112,16 +121,37 @@ public class RoomController {
             pageRequest.setSortField(sortField);
             pageRequest.setSortOrder(sortOrder);
             pageRequest.setSearch(search);
+            pageRequest.setAfter(after);
+            pageRequest.setIncludeTotal(includeTotal);
+
+            // 서비스에서 페이지네이션 처리 (직렬화된 페이지 캐시)
+            RoomListCache.Entry cached = roomService.getRoomListPage(pageRequest, principal.getName());
 
-            // 서비스에서 페이지네이션 처리
-            RoomsResponse response = roomService.getAllRoomsWithPagination(pageRequest, principal.getName());
+            if (cached.etag() == null) {
+                return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(cached.body());
+            }
 
-            // 캐시 설정
+            // 캐시 설정 (만료 후에는 ETag로 재검증)
+            CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(10));
+            if (cached.etag().equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(cached.etag())
+                    .build();
+            }
             return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(10)))
-                .header("Last-Modified", java.time.Instant.now().toString())
-                .body(response);
+                .cacheControl(cacheControl)
+                .eTag(cached.etag())
+                .lastModified(cached.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(StandardResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("방 목록 조회 에러", e);
 
@@ -301,10 +331,6 @@ public class RoomController {
 
         boolean isCreator = room.getCreator().equals(name);
 
-        // 최근 10분간 메시지 수 조회
-        LocalDateTime tenMinutesAgo = LocalDateTime.now().minusMinutes(10);
-        long recentMessageCount = messageRepository.countRecentMessagesByRoomId(room.getId(), tenMinutesAgo);
-
         return RoomResponse.builder()
                 .id(room.getId())
                 .name(room.getName())
@@ -313,7 +339,7 @@ public class RoomController {
                 .participants(participantSummaries)
                 .createdAtDateTime(room.getCreatedAt() != null ? room.getCreatedAt() : LocalDateTime.now())
                 .isCreator(isCreator)
-                .recentMessageCount((int) recentMessageCount)
+                .recentMessageCount(roomActivityCounter.recentCount(room.getId()))
                 .build();
     }
 }
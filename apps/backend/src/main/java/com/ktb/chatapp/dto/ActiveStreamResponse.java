@@ -19,6 +19,7 @@ public class ActiveStreamResponse {
     private String type;
     private String aiType;
     private String content;
+    private long seq;  // content에 포함된 마지막 청크의 순번, 이후 청크만 이어 붙인다
     private String timestamp;  // ISO_INSTANT 형식 문자열 예) 2025-11-07T13:45:30Z
     private boolean isStreaming;
 }
@@ -0,0 +1,5 @@
+package com.ktb.chatapp.dto;
+
+// 청크 순번(seq)이 끊긴 클라이언트가 진행 중인 AI 응답의 전체 내용을 요청
+public record AiMessageSnapshotRequest(String messageId) {
+}
@@ -43,5 +43,7 @@ public class MessageResponse {
     
     private List<Message.MessageReader> readers;
     
+    private long readCount;
+    
     private Map<String, Object> metadata;
 }
@@ -10,12 +10,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PageMetadata {
-    private long total;
+    // includeTotal 요청 시에만 포함 (근사값)
+    private Long total;
     private int page;
     private int pageSize;
-    private long totalPages;
+    private Long totalPages;
     private boolean hasMore;
     private int currentCount;
+    // 다음 페이지 커서 (createdAt 정렬)
+    private String nextCursor;
     private SortInfo sort;
 
     @Data
@@ -17,6 +17,12 @@ public class PageRequest {
     private String sortOrder = "desc";
     private String search;
 
+    // createdAt 정렬 keyset 커서 ("{createdAt epoch millis},{_id}"), 있으면 page 대신 사용
+    private String after;
+
+    // 전체 개수(캐시된 근사값) 포함 여부
+    private boolean includeTotal = false;
+
     public boolean isValidSortField() {
         return "createdAt".equals(sortField) ||
                "name".equals(sortField) ||
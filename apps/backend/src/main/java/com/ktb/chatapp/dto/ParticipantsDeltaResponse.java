@@ -0,0 +1,26 @@
+package com.ktb.chatapp.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 참가자 목록 변경분 DTO.
+ * 한 주기 동안 입장한 사용자의 프로필과 퇴장한 사용자 ID만 전달한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantsDeltaResponse {
+    
+    private String roomId;
+    
+    private List<UserResponse> added;
+    
+    private List<String> removed;
+    
+    private long timestamp;
+}
@@ -0,0 +1,48 @@
+package com.ktb.chatapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅방 목록 변경분 DTO.
+ * 한 주기 동안 생성된 방의 요약과, 참여자 수가 바뀐 방의 ID/값만 전달한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomListDeltaResponse {
+    
+    // 새로 생성된 방 (참여자 목록 없이 요약만)
+    private List<RoomSummary> created;
+    
+    // 바뀐 필드만 포함한 기존 방
+    private List<RoomChange> updated;
+    
+    private long timestamp;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomSummary {
+        @JsonProperty("_id")
+        private String id;
+        private String name;
+        private boolean hasPassword;
+        private int participantsCount;
+        private long createdAt;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomChange {
+        @JsonProperty("_id")
+        private String id;
+        private int participantsCount;
+    }
+}
@@ -0,0 +1,5 @@
+package com.ktb.chatapp.dto;
+
+// 채팅방 안에 있는 동안 채팅방 목록 변경분(roomListDelta) 수신을 멈출지 여부
+public record RoomListPreferenceRequest(boolean pauseInRoom) {
+}
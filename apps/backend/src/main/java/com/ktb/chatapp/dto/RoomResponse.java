@@ -43,9 +43,16 @@ public class RoomResponse {
     @Schema(description = "최근 10분간 메시지 수", example = "23")
     private Integer recentMessageCount;
 
+    // rooms.participantCount (비정규화 값), 없으면 참여자 목록 크기 사용
+    @JsonIgnore
+    private Integer participantCount;
+
     @Schema(description = "참여자 수", example = "5")
     @JsonGetter("participantsCount")
     public int getParticipantsCount() {
+        if (participantCount != null) {
+            return participantCount;
+        }
         return participants != null ? participants.size() : 0;
     }
 
@@ -0,0 +1,19 @@
+package com.ktb.chatapp.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 재접속 시 클라이언트가 마지막으로 본 메시지 ID와 마지막 동기화 시각(since, epoch millis)을 전달
+public record SyncRoomRequest(String roomId, String lastMessageId, Long since, Integer limit) {
+    public int limit(int defaultLimit, int maxLimit) {
+        return limit != null && limit > 0 ? Math.min(limit, maxLimit) : defaultLimit;
+    }
+    
+    public LocalDateTime since(LocalDateTime defaultSince) {
+        if (since != null && since > 0) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+        }
+        return defaultSince;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ktb.chatapp.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재접속 동기화 응답 DTO.
+ * fullReload가 true이면 나머지 필드는 비어 있고, 클라이언트는 fetchPreviousMessages로 다시 로드한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRoomResponse {
+    private String roomId;
+    
+    private boolean fullReload;
+    
+    // 커서 이후 새 메시지 (시간 오름차순)
+    private List<MessageResponse> messages;
+    
+    // since 이후 리액션이 바뀐 기존 메시지
+    private List<MessageReactionResponse> reactions;
+    
+    // since 이후 바뀐 사용자별 읽음 위치
+    private List<ReadPosition> reads;
+    
+    // 다음 동기화 요청의 since 값
+    private long syncedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReadPosition {
+        private String userId;
+        private String lastReadMessageId;
+        private long lastReadTimestamp;
+    }
+    
+    public static SyncRoomResponse fullReload(String roomId, long syncedAt) {
+        return SyncRoomResponse.builder()
+                .roomId(roomId)
+                .fullReload(true)
+                .messages(List.of())
+                .reactions(List.of())
+                .reads(List.of())
+                .syncedAt(syncedAt)
+                .build();
+    }
+}
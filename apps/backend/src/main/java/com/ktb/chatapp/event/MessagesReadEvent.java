@@ -0,0 +1,24 @@
+package com.ktb.chatapp.event;
+
+import java.util.List;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 읽음 상태 flush 이벤트
+ * 한 번의 flush 주기 동안 (room, user) 별로 병합된 읽음 메시지 목록을 전달한다.
+ */
+@Getter
+public class MessagesReadEvent extends ApplicationEvent {
+
+    private final String roomId;
+    private final String userId;
+    private final List<String> messageIds;
+
+    public MessagesReadEvent(Object source, String roomId, String userId, List<String> messageIds) {
+        super(source);
+        this.roomId = roomId;
+        this.userId = userId;
+        this.messageIds = messageIds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ktb.chatapp.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 채팅방 참여자 변경 이벤트 (Socket.IO 입장/퇴장)
+ * userId가 있으면 joined로 입장/퇴장을 구분한다.
+ */
+@Getter
+public class RoomParticipantsChangedEvent extends ApplicationEvent {
+
+    private final String roomId;
+    private final String userId;
+    private final boolean joined;
+
+    public RoomParticipantsChangedEvent(Object source, String roomId) {
+        this(source, roomId, null, false);
+    }
+
+    public RoomParticipantsChangedEvent(Object source, String roomId, String userId, boolean joined) {
+        super(source);
+        this.roomId = roomId;
+        this.userId = userId;
+        this.joined = joined;
+    }
+}
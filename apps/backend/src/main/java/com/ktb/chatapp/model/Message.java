@@ -30,11 +30,14 @@ import java.util.Set;
 @AllArgsConstructor
 @Document(collection = "messages")
 @CompoundIndexes({
-    @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}"),
-    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
+    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}"),
+    @CompoundIndex(name = "room_reactionsUpdatedAt_idx", def = "{'room': 1, 'reactionsUpdatedAt': -1}", sparse = true)
 })
 public class Message {
 
+    // 저장하지 않고 브로드캐스트만 하는 시스템 알림의 ID 접두사 (DB ObjectId와 겹치지 않음)
+    public static final String EPHEMERAL_ID_PREFIX = "ephemeral-";
+
     @Id
     private String id;
 
@@ -67,9 +70,8 @@ public class Message {
     @Builder.Default
     private Map<String, Set<String>> reactions = new HashMap<>();
 
-    // 메시지 읽음 상태 관리
-    @Builder.Default
-    private List<MessageReader> readers = new ArrayList<>();
+    // 마지막 리액션 변경 시각 (재접속 동기화 시 리액션 변경분 조회용)
+    private LocalDateTime reactionsUpdatedAt;
 
     // 자유 형식 metadata 저장 필드
     @Builder.Default
@@ -79,7 +81,7 @@ public class Message {
     @Builder.Default
     private Boolean isDeleted = false;
 
-    // 메시지 읽음 상태를 나타내는 내부 클래스
+    // 메시지 읽음 상태를 나타내는 내부 클래스 (RoomReadWatermark로부터 파생된 응답용)
     @Data
     @Builder
     @NoArgsConstructor
@@ -90,6 +92,10 @@ public class Message {
     }
     
     
+    public static boolean isEphemeralId(String id) {
+        return id != null && id.startsWith(EPHEMERAL_ID_PREFIX);
+    }
+
     public long toTimestampMillis() {
         return timestamp.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
@@ -110,7 +116,11 @@ public class Message {
             reaction,
             key -> new java.util.HashSet<>()
         );
-        return userReactions.add(userId);
+        if (!userReactions.add(userId)) {
+            return false;
+        }
+        this.reactionsUpdatedAt = LocalDateTime.now();
+        return true;
     }
     
     /**
@@ -129,6 +139,7 @@ public class Message {
             if (userReactions.isEmpty()) {
                 this.reactions.remove(reaction);
             }
+            this.reactionsUpdatedAt = LocalDateTime.now();
             return true;
         }
         return false;
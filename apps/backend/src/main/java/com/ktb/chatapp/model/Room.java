@@ -1,6 +1,7 @@
 package com.ktb.chatapp.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ktb.chatapp.util.RoomNameTokenizer;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -12,10 +13,12 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
-import org.springframework.data.mongodb.core.index.IndexDirection;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
 
 @Data
 @Builder
@@ -23,7 +26,9 @@ import org.springframework.data.mongodb.core.mapping.Field;
 @AllArgsConstructor
 @Document(collection = "rooms")
 @CompoundIndexes({
-    @CompoundIndex(name = "name_createdAt_idx", def = "{'name': 1, 'createdAt': -1}")
+    @CompoundIndex(name = "name_createdAt_idx", def = "{'name': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "participantCount_createdAt_idx", def = "{'participantCount': -1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "createdAt_id_idx", def = "{'createdAt': -1, '_id': -1}")
 })
 public class Room {
 
@@ -33,6 +38,11 @@ public class Room {
     @Indexed
     private String name;
 
+    // 이름 부분 일치 검색용 n-gram (RoomNameTokenizer, 저장 시 자동 갱신)
+    @JsonIgnore
+    @Indexed(name = "nameTokens_idx")
+    private Set<String> nameTokens;
+
     private String creator;
 
     private boolean hasPassword;
@@ -41,12 +51,14 @@ public class Room {
     private String password;
 
     @CreatedDate
-    @Indexed(direction = IndexDirection.DESCENDING)
     private LocalDateTime createdAt;
 
     @Field("participantIds")
     @Builder.Default
     private Set<String> participantIds = new HashSet<>();
+
+    // participantIds 크기의 비정규화 값 (참여자 수 정렬용, 참여자 추가/제거 시 $size로 다시 계산)
+    private int participantCount;
     
     /**
      * 방에 참가자를 추가한다.
@@ -88,4 +100,18 @@ public class Room {
     public int getParticipantCount() {
         return this.participantIds != null ? this.participantIds.size() : 0;
     }
+
+    /**
+     * 저장 전 이름 검색 토큰과 참여자 수 갱신
+     */
+    @Component
+    public static class RoomEventListener extends AbstractMongoEventListener<Room> {
+
+        @Override
+        public void onBeforeConvert(BeforeConvertEvent<Room> event) {
+            Room room = event.getSource();
+            room.setNameTokens(RoomNameTokenizer.tokens(room.getName()));
+            room.setParticipantCount(room.getParticipantIds() != null ? room.getParticipantIds().size() : 0);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 채팅방별 사용자 읽음 위치(watermark) 문서.
+ * (room, user) 당 하나의 문서만 유지하며, lastReadTimestamp 이전의 메시지는 모두 읽은 것으로 간주한다.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_read_watermarks")
+@CompoundIndexes({
+    @CompoundIndex(name = "room_userId_idx", def = "{'room': 1, 'userId': 1}", unique = true)
+})
+public class RoomReadWatermark {
+
+    @Id
+    private String id;
+
+    // Message와 동일하게 Mongo 문서 필드명 "room" 사용
+    @Field("room")
+    private String roomId;
+
+    private String userId;
+
+    private String lastReadMessageId;
+
+    private LocalDateTime lastReadTimestamp;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * 주어진 시각에 작성된 메시지를 이 사용자가 읽었는지 확인한다.
+     *
+     * @param messageTimestamp 메시지 작성 시각
+     * @return 읽음 위치가 메시지 시각 이후이면 true
+     */
+    public boolean hasRead(LocalDateTime messageTimestamp) {
+        return lastReadTimestamp != null
+                && messageTimestamp != null
+                && !lastReadTimestamp.isBefore(messageTimestamp);
+    }
+}
@@ -2,6 +2,7 @@ package com.ktb.chatapp.repository;
 
 import com.ktb.chatapp.model.Message;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +13,18 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface MessageRepository extends MongoRepository<Message, String> {
     Page<Message> findByRoomIdAndIsDeletedAndTimestampBefore(String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+
+    /**
+     * 특정 시간 이후(포함)의 메시지 조회 (재접속 동기화용, count 쿼리 없이 List로 반환)
+     */
+    List<Message> findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+
+    /**
+     * 특정 시각 이후 리액션이 변경된 메시지 조회 (upTo 이전 메시지만, 리액션 필드만 반환)
+     */
+    @Query(value = "{ 'room': ?0, 'reactionsUpdatedAt': { $gt: ?1 }, 'timestamp': { $lte: ?2 } }",
+            fields = "{ 'reactions': 1 }")
+    List<Message> findReactionChanges(String roomId, LocalDateTime since, LocalDateTime upTo, Pageable pageable);
     /**
      * 특정 시간 이후의 메시지 수 카운트 (삭제되지 않은 메시지만)
      * 최근 N분간 메시지 수를 조회할 때 사용
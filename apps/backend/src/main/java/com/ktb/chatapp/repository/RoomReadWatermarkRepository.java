@@ -0,0 +1,11 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.RoomReadWatermark;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomReadWatermarkRepository extends MongoRepository<RoomReadWatermark, String> {
+    List<RoomReadWatermark> findByRoomId(String roomId);
+}
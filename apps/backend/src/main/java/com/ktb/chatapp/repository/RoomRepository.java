@@ -8,6 +8,8 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,9 +18,6 @@ public interface RoomRepository extends MongoRepository<Room, String> {
     // 페이지네이션과 함께 모든 방 조회
     Page<Room> findAll(Pageable pageable);
 
-    // 검색어와 함께 페이지네이션 조회
-    Page<Room> findByNameContainingIgnoreCase(String name, Pageable pageable);
-
     // 가장 최근에 생성된 방 조회 (Health Check용)
     @Query(value = "{}", sort = "{ 'createdAt': -1 }")
     Optional<Room> findMostRecentRoom();
@@ -27,11 +26,28 @@ public interface RoomRepository extends MongoRepository<Room, String> {
     @Query(value = "{}", fields = "{ '_id': 1 }")
     Optional<Room> findOneForHealthCheck();
 
-    @Query("{'_id': ?0}")
-    @Update("{'$addToSet': {'participantIds': ?1}}")
-    void addParticipant(String roomId, String userId);
-
-    @Query("{'_id': ?0}")
-    @Update("{'$pull': {'participantIds': ?1}}")
-    void removeParticipant(String roomId, String userId);
+    // 주어진 방 중 사용자가 참여 중인 방의 ID만 조회 (재접속 일괄 재입장용)
+    @Query(value = "{'_id': {'$in': ?0}, 'participantIds': ?1}", fields = "{'_id': 1}")
+    List<Room> findJoinedRoomIds(Collection<String> roomIds, String userId);
+
+    // 실제로 추가/제거된 경우에만 갱신하고, participantCount는 갱신된 participantIds 크기로 다시 계산
+    // ($inc는 backfill 전 문서에서 0부터 시작해 실제 참여자 수와 어긋나므로 pipeline update 사용)
+    @Query("{'_id': ?0, 'participantIds': {'$ne': ?1}}")
+    @Update(pipeline = {
+            "{'$set': {'participantIds': {'$concatArrays': [{'$ifNull': ['$participantIds', []]}, [?1]]}}}",
+            "{'$set': {'participantCount': {'$size': '$participantIds'}}}"
+    })
+    long addParticipant(String roomId, String userId);
+
+    @Query("{'_id': ?0, 'participantIds': ?1}")
+    @Update(pipeline = {
+            "{'$set': {'participantIds': {'$filter': {'input': '$participantIds', 'cond': {'$ne': ['$$this', ?1]}}}}}",
+            "{'$set': {'participantCount': {'$size': '$participantIds'}}}"
+    })
+    long removeParticipant(String roomId, String userId);
+
+    // 참여자가 남아 있는지 확인 (빈 방의 AI 작업 취소용)
+    // participantCount는 backfill 전 문서에 없을 수 있으므로 원본인 participantIds로 판단
+    @Query(value = "{'_id': ?0, 'participantIds.0': {'$exists': true}}", exists = true)
+    boolean hasParticipants(String roomId);
 }
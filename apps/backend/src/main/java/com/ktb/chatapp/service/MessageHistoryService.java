@@ -0,0 +1,225 @@
+package com.ktb.chatapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.FileResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.File;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * REST 메시지 히스토리 조회 서비스
+ * Socket.IO fetchPreviousMessages와 같은 timestamp keyset 커서(before, epoch millis)를 사용한다.
+ * 페이지 범위는 timestamp/발신자/파일만 담은 가벼운 조회로 먼저 정하고, 본문은 Mongo cursor로 읽으면서
+ * Jackson 스트리밍 generator로 바로 출력한다.
+ * 오래된 페이지는 본문을 읽지 않고 만들 수 있는 validator(ETag)를 제공해 If-None-Match 일치 시 조회를 생략한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageHistoryService {
+
+    public static final int MAX_LIMIT = 100;
+
+    // 응답 형식이 바뀌면 올려서 기존 ETag를 무효화
+    private static final String FORMAT_VERSION = "v2";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final FileRepository fileRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chatapp.message-history.stable-after:PT1H}")
+    private Duration stableAfter;
+
+    @Getter
+    @Value("${chatapp.message-history.max-age:PT10M}")
+    private Duration maxAge;
+
+    /**
+     * 페이지 범위 전체가 기준 시간보다 오래되었는지 확인한다.
+     * 오래된 페이지는 새 메시지가 끼어들지 않지만 반응과 발신자 프로필은 계속 바뀔 수 있다.
+     */
+    public boolean isStable(Long before) {
+        return before != null && before > 0
+                && Instant.ofEpochMilli(before).isBefore(Instant.now().minus(stableAfter));
+    }
+
+    /**
+     * 오래된 페이지의 strong ETag. 페이지 본문 없이 계산한다.
+     * - before 이전 메시지 중 가장 최근 리액션 변경 시각 (room_reactionsUpdatedAt 인덱스, 한 건 조회)
+     * - max-age 단위 시간 구간: 발신자 프로필 변경은 싸게 알 수 없으므로 구간이 바뀔 때 다시 받게 한다
+     */
+    public String stableEtagOf(String roomId, long before, int limit) {
+        Query query = Query.query(Criteria.where("room").is(roomId)
+                        .and("reactionsUpdatedAt").exists(true)
+                        .and("timestamp").lt(toLocalDateTime(before)))
+                .with(Sort.by(Sort.Direction.DESC, "reactionsUpdatedAt"))
+                .limit(1);
+        query.fields().include("reactionsUpdatedAt");
+        Message latestReaction = mongoTemplate.findOne(query, Message.class);
+        long reactionsVersion = latestReaction != null && latestReaction.getReactionsUpdatedAt() != null
+                ? toMillis(latestReaction.getReactionsUpdatedAt())
+                : 0;
+        long profileWindow = Instant.now().toEpochMilli() / Math.max(1, maxAge.toMillis());
+
+        String key = FORMAT_VERSION + ":" + roomId + ":" + before + ":" + limit + ":"
+                + reactionsVersion + ":" + profileWindow;
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * before 이전 메시지를 최대 limit 개 시간 오름차순으로 출력한다.
+     * 출력 형식: {"success":true,"data":{"messages":[...],"hasMore":..,"nextBefore":..}}
+     */
+    public void writePage(OutputStream out, String roomId, Long before, int limit) throws IOException {
+        LocalDateTime beforeTime = before != null && before > 0 ? toLocalDateTime(before) : LocalDateTime.now();
+
+        // 1. 범위 조회: limit + 1 개의 ID/timestamp/발신자/파일만 읽어 hasMore와 페이지 범위를 정한다
+        Query rangeQuery = Query.query(Criteria.where("room").is(roomId)
+                        .and("isDeleted").is(false)
+                        .and("timestamp").lt(beforeTime))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp"))
+                .limit(limit + 1);
+        rangeQuery.fields().include("timestamp", "sender", "file");
+        List<Message> range = mongoTemplate.find(rangeQuery, Message.class);
+
+        boolean hasMore = range.size() > limit;
+        List<Message> page = hasMore ? range.subList(0, limit) : range;
+
+        Map<String, User> senders = loadSenders(page);
+        Map<String, File> files = loadFiles(page);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeObjectFieldStart("data");
+
+            generator.writeArrayFieldStart("messages");
+            if (!page.isEmpty()) {
+                // 2. 본문 조회: 같은 ID 집합을 오름차순(채팅 UI 표시 순서) cursor로 읽으며 바로 출력
+                Query pageQuery = Query.query(Criteria.where("_id").in(page.stream().map(Message::getId).toList()))
+                        .with(Sort.by(Sort.Direction.ASC, "timestamp"));
+                pageQuery.fields().exclude("mentions");
+                try (Stream<Message> messages = mongoTemplate.stream(pageQuery, Message.class)) {
+                    for (Message message : (Iterable<Message>) messages::iterator) {
+                        writeMessage(generator, message,
+                                senders.get(message.getSenderId()), files.get(message.getFileId()));
+                    }
+                }
+            }
+            generator.writeEndArray();
+
+            generator.writeBooleanField("hasMore", hasMore);
+            if (page.isEmpty()) {
+                generator.writeNullField("nextBefore");
+            } else {
+                generator.writeNumberField("nextBefore", page.getLast().toTimestampMillis());
+            }
+
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        log.debug("Message history streamed - roomId: {}, before: {}, limit: {}, count: {}, hasMore: {}",
+                roomId, before, limit, page.size(), hasMore);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 읽음 정보(readers)는 계속 바뀌므로 캐시 가능한 REST 응답에서는 제외
+    private void writeMessage(JsonGenerator generator, Message message, User sender, File file) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("_id", message.getId());
+        generator.writeStringField("room", message.getRoomId());
+        generator.writeStringField("content", message.getContent());
+        if (sender != null) {
+            generator.writeObjectField("sender", UserResponse.builder()
+                    .id(sender.getId())
+                    .name(sender.getName())
+                    .email(sender.getEmail())
+                    .profileImage(sender.getProfileImage())
+                    .build());
+        }
+        generator.writeObjectField("type", message.getType());
+        if (file != null) {
+            generator.writeObjectField("file", FileResponse.builder()
+                    .id(file.getId())
+                    .filename(file.getFilename())
+                    .originalname(file.getOriginalname())
+                    .mimetype(file.getMimetype())
+                    .size(file.getSize())
+                    .build());
+        }
+        if (message.getAiType() != null) {
+            generator.writeObjectField("aiType", message.getAiType());
+        }
+        generator.writeNumberField("timestamp", message.toTimestampMillis());
+        generator.writeObjectField("reactions",
+                message.getReactions() != null ? message.getReactions() : new HashMap<>());
+        if (message.getMetadata() != null) {
+            generator.writeObjectField("metadata", message.getMetadata());
+        }
+        generator.writeEndObject();
+    }
+
+    private Map<String, User> loadSenders(List<Message> page) {
+        Set<String> senderIds = page.stream()
+                .map(Message::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (senderIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Map<String, File> loadFiles(List<Message> page) {
+        Set<String> fileIds = page.stream()
+                .map(Message::getFileId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (fileIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return fileRepository.findAllById(fileIds).stream()
+                .collect(Collectors.toMap(File::getId, Function.identity()));
+    }
+}
@@ -1,12 +1,17 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.repository.RoomReadWatermarkRepository;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -15,47 +20,132 @@ import org.springframework.stereotype.Service;
 
 /**
  * 메시지 읽음 상태 관리 서비스
+ * 메시지마다 readers 배열을 쌓는 대신 (room, user) 당 하나의 읽음 위치(watermark)를 유지한다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageReadStatusService {
 
-    private final MessageRepository messageRepository;
+    private final RoomReadWatermarkRepository watermarkRepository;
     private final MongoTemplate mongoTemplate;
 
     /**
      * 메시지 읽음 상태 업데이트
+     * 전달된 메시지 중 가장 최신 메시지까지 읽은 것으로 읽음 위치를 전진시킨다.
      *
-     * @param messageIds 읽음 상태를 업데이트할 메시지 리스트
+     * @param messages 읽음 상태를 업데이트할 메시지 리스트 (같은 채팅방)
      * @param userId 읽은 사용자 ID
      */
-    public void updateReadStatus(List<String> messageIds, String userId) {
-        if (messageIds == null || messageIds.isEmpty() || userId == null) {
+    public void updateReadStatus(List<Message> messages, String userId) {
+        if (messages == null || messages.isEmpty() || userId == null) {
+            return;
+        }
+
+        messages.stream()
+                .filter(message -> message.getTimestamp() != null)
+                .max(Comparator.comparing(Message::getTimestamp))
+                .ifPresent(latest -> advanceWatermark(
+                        latest.getRoomId(), userId, latest.getId(), latest.getTimestamp()));
+    }
+
+    /**
+     * 읽음 위치 전진
+     * 기존 위치보다 최신인 경우에만 갱신하며, 뒤로 되돌리지 않는다.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     * @param timestamp 마지막으로 읽은 메시지 시각
+     */
+    public void advanceWatermark(String roomId, String userId, String messageId, LocalDateTime timestamp) {
+        if (roomId == null || userId == null || timestamp == null) {
             return;
         }
 
         try {
-            // 이미 해당 사용자가 readers에 있는 문서는 제외하고, addToSet으로 한 번에 추가
-            Query query = Query.query(
-                    Criteria.where("_id").in(messageIds)
-                            .and("readers.userId").ne(userId)
-            );
+            var result = mongoTemplate.upsert(
+                    advanceQuery(roomId, userId, timestamp),
+                    advanceUpdate(messageId, timestamp),
+                    RoomReadWatermark.class);
 
-            Message.MessageReader readerInfo = Message.MessageReader.builder()
-                    .userId(userId)
-                    .readAt(LocalDateTime.now())
-                    .build();
+            log.debug("Read watermark advanced - room: {}, user: {}, messageId: {} (matched: {}, upserted: {})",
+                    roomId, userId, messageId, result.getMatchedCount(), result.getUpsertedId() != null);
 
-            Update update = new Update().addToSet("readers", readerInfo);
+        } catch (DuplicateKeyException e) {
+            // 이미 더 최신 위치가 저장되어 있어 조건에 맞지 않은 경우 - 갱신할 필요 없음
+            log.debug("Read watermark already ahead - room: {}, user: {}", roomId, userId);
+        } catch (Exception e) {
+            log.error("Read status update error for user {}", userId, e);
+        }
+    }
 
-            var result = mongoTemplate.updateMulti(query, update, Message.class);
+    /**
+     * 여러 읽음 위치를 한 번의 bulk write로 전진
+     *
+     * @param positions 전진시킬 읽음 위치 목록 (roomId, userId, lastReadMessageId, lastReadTimestamp 사용)
+     * @return 실제로 갱신되거나 새로 생성된 문서 수
+     */
+    public int advanceWatermarks(Collection<RoomReadWatermark> positions) {
+        List<RoomReadWatermark> valid = positions == null ? List.of() : positions.stream()
+                .filter(p -> p.getRoomId() != null && p.getUserId() != null && p.getLastReadTimestamp() != null)
+                .toList();
+        if (valid.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadWatermark.class);
+        valid.forEach(p -> bulkOps.upsert(
+                advanceQuery(p.getRoomId(), p.getUserId(), p.getLastReadTimestamp()),
+                advanceUpdate(p.getLastReadMessageId(), p.getLastReadTimestamp())));
 
-            log.debug("Read status bulk-updated for {} messages by user {} (matched: {}, modified: {})",
-                    messageIds.size(), userId, result.getMatchedCount(), result.getModifiedCount());
+        try {
+            var result = bulkOps.execute();
+            return result.getModifiedCount() + result.getUpserts().size();
+        } catch (BulkOperationException e) {
+            // 이미 더 최신 위치가 저장된 항목은 duplicate key로 실패하므로 무시
+            long failed = e.getErrors().stream()
+                    .filter(error -> error.getCode() != 11000)
+                    .count();
+            if (failed > 0) {
+                log.error("Read watermark bulk update partially failed - {} of {} errors",
+                        failed, e.getErrors().size());
+            }
+            return e.getResult().getModifiedCount() + e.getResult().getUpserts().size();
+        }
+    }
 
+    /**
+     * 채팅방의 모든 사용자 읽음 위치 조회
+     *
+     * @param roomId 채팅방 ID
+     * @return 읽음 위치 목록
+     */
+    public List<RoomReadWatermark> findWatermarks(String roomId) {
+        if (roomId == null) {
+            return List.of();
+        }
+        try {
+            return watermarkRepository.findByRoomId(roomId);
         } catch (Exception e) {
-            log.error("Read status update error for user {}", userId, e);
+            log.error("Read watermark lookup error for room {}", roomId, e);
+            return List.of();
         }
     }
+
+    static Query advanceQuery(String roomId, String userId, LocalDateTime timestamp) {
+        return Query.query(Criteria.where("room").is(roomId)
+                .and("userId").is(userId)
+                .orOperator(
+                        Criteria.where("lastReadTimestamp").lt(timestamp),
+                        Criteria.where("lastReadTimestamp").exists(false)
+                ));
+    }
+
+    static Update advanceUpdate(String messageId, LocalDateTime timestamp) {
+        return new Update()
+                .set("lastReadTimestamp", timestamp)
+                .set("lastReadMessageId", messageId)
+                .set("updatedAt", LocalDateTime.now());
+    }
 }
@@ -0,0 +1,237 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.event.MessagesReadEvent;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 읽음 상태 병합기
+ * 요청 경로에서는 메모리에만 (user, room) 단위로 읽음 이벤트를 모아두고,
+ * 주기적으로 한 번의 bulk write와 (user, room) 당 하나의 MESSAGES_READ 브로드캐스트로 flush 한다.
+ */
+@Slf4j
+@Component
+public class ReadReceiptAggregator {
+
+    private final MessageReadStatusService messageReadStatusService;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter flushedCounter;
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+
+    @Value("${chatapp.read-receipt.max-pending-ids-per-user:500}")
+    private int maxPendingIdsPerUser;
+
+    // (user, room) -> 병합된 읽음 위치
+    private final ConcurrentHashMap<ReadKey, PendingRead> pendingReads = new ConcurrentHashMap<>();
+    // user -> 채팅방을 아직 모르는 읽음 요청 (flush 시 한 번에 조회)
+    private final ConcurrentHashMap<String, UnresolvedRead> unresolvedReads = new ConcurrentHashMap<>();
+
+    public ReadReceiptAggregator(
+            MessageReadStatusService messageReadStatusService,
+            MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.messageReadStatusService = messageReadStatusService;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushedCounter = Counter.builder("read_receipt.flushed.watermarks")
+                .description("Read watermarks written by read receipt flushes")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("read_receipt.dropped")
+                .description("Read receipts dropped (unknown message or room not joined)")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("read_receipt.flush.time")
+                .description("Read receipt flush duration")
+                .register(meterRegistry);
+        Gauge.builder("read_receipt.pending", this, aggregator -> aggregator.pendingReads.size()
+                        + aggregator.unresolvedReads.size())
+                .description("Pending read receipt entries waiting for flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미 로드된 메시지의 읽음 처리 (히스토리 조회 경로)
+     * 브로드캐스트 없이 읽음 위치만 전진시킨다.
+     */
+    public void submit(String userId, List<Message> messages) {
+        if (userId == null || messages == null) {
+            return;
+        }
+        messages.stream()
+                .filter(message -> message.getRoomId() != null && message.getTimestamp() != null)
+                .forEach(message -> advance(userId, message, false));
+    }
+
+    /**
+     * 메시지 ID만 알고 있는 읽음 처리 (markMessagesAsRead 경로)
+     * 채팅방 조회는 flush 시점에 한 번에 수행하며, 사용자가 참여 중인 방의 메시지만 반영한다.
+     *
+     * @param userId 읽은 사용자 ID
+     * @param messageIds 읽은 메시지 ID 목록
+     * @param joinedRooms 요청 시점에 사용자가 참여 중인 채팅방
+     */
+    public void submit(String userId, List<String> messageIds, Collection<String> joinedRooms) {
+        if (userId == null || messageIds == null || messageIds.isEmpty()) {
+            return;
+        }
+        // compute는 flush의 remove와 같은 잠금을 사용하므로 flush 도중 추가된 항목이 유실되지 않는다
+        unresolvedReads.compute(userId, (key, read) -> {
+            UnresolvedRead target = read != null ? read : new UnresolvedRead();
+            target.add(messageIds, joinedRooms, maxPendingIdsPerUser);
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.read-receipt.flush-interval-ms:300}")
+    public void flush() {
+        if (pendingReads.isEmpty() && unresolvedReads.isEmpty()) {
+            return;
+        }
+        flushTimer.record(this::flushInternal);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushInternal() {
+        try {
+            resolvePendingMessages(drain(unresolvedReads));
+
+            Map<ReadKey, PendingRead> batch = drain(pendingReads);
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<RoomReadWatermark> positions = batch.entrySet().stream()
+                    .map(entry -> RoomReadWatermark.builder()
+                            .roomId(entry.getKey().roomId())
+                            .userId(entry.getKey().userId())
+                            .lastReadMessageId(entry.getValue().messageId)
+                            .lastReadTimestamp(entry.getValue().timestamp)
+                            .build())
+                    .toList();
+            int written = messageReadStatusService.advanceWatermarks(positions);
+            flushedCounter.increment(written);
+
+            batch.forEach((key, pending) -> {
+                if (!pending.broadcastIds.isEmpty()) {
+                    eventPublisher.publishEvent(new MessagesReadEvent(
+                            this, key.roomId(), key.userId(), List.copyOf(pending.broadcastIds)));
+                }
+            });
+
+            log.debug("Read receipts flushed - entries: {}, written: {}", batch.size(), written);
+        } catch (Exception e) {
+            log.error("Read receipt flush error", e);
+        }
+    }
+
+    private void resolvePendingMessages(Map<String, UnresolvedRead> unresolved) {
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        Set<String> allIds = new LinkedHashSet<>();
+        unresolved.values().forEach(read -> allIds.addAll(read.messageIds));
+
+        Query query = Query.query(Criteria.where("_id").in(allIds));
+        query.fields().include("room").include("timestamp");
+        Map<String, Message> messagesById = new HashMap<>();
+        mongoTemplate.find(query, Message.class).forEach(message -> messagesById.put(message.getId(), message));
+
+        unresolved.forEach((userId, read) -> read.messageIds.forEach(messageId -> {
+            Message message = messagesById.get(messageId);
+            if (message == null || !read.joinedRooms.contains(message.getRoomId())) {
+                droppedCounter.increment();
+                return;
+            }
+            advance(userId, message, true);
+        }));
+    }
+
+    private void advance(String userId, Message message, boolean broadcast) {
+        pendingReads.compute(new ReadKey(userId, message.getRoomId()), (key, pending) -> {
+            PendingRead target = pending != null ? pending : new PendingRead();
+            target.advance(message.getId(), message.getTimestamp(), broadcast);
+            return target;
+        });
+    }
+
+    private static <K, V> Map<K, V> drain(ConcurrentHashMap<K, V> source) {
+        Map<K, V> drained = new HashMap<>();
+        for (K key : new ArrayList<>(source.keySet())) {
+            V value = source.remove(key);
+            if (value != null) {
+                drained.put(key, value);
+            }
+        }
+        return drained;
+    }
+
+    private record ReadKey(String userId, String roomId) {
+    }
+
+    private static final class PendingRead {
+        private String messageId;
+        private LocalDateTime timestamp;
+        private final Set<String> broadcastIds = new LinkedHashSet<>();
+
+        void advance(String messageId, LocalDateTime timestamp, boolean broadcast) {
+            if (timestamp == null) {
+                return;
+            }
+            if (this.timestamp == null || timestamp.isAfter(this.timestamp)) {
+                this.timestamp = timestamp;
+                this.messageId = messageId;
+            }
+            if (broadcast) {
+                broadcastIds.add(messageId);
+            }
+        }
+    }
+
+    private static final class UnresolvedRead {
+        private final Set<String> messageIds = new LinkedHashSet<>();
+        private final Set<String> joinedRooms = new LinkedHashSet<>();
+
+        void add(List<String> ids, Collection<String> rooms, int maxIds) {
+            for (String id : ids) {
+                if (messageIds.size() >= maxIds) {
+                    break;
+                }
+                if (id != null) {
+                    messageIds.add(id);
+                }
+            }
+            if (rooms != null) {
+                joinedRooms.addAll(rooms);
+            }
+        }
+    }
+}
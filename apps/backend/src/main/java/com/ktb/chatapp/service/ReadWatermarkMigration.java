@@ -0,0 +1,132 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 readers 배열을 채팅방 읽음 위치(room_read_watermarks)로 옮기는 일회성 배치 마이그레이션.
+ * (room, user) 별로 읽은 메시지 중 가장 최신 메시지를 읽음 위치로 삼고,
+ * 옮긴 뒤에는 messages 문서의 readers 필드와 readers_userId_idx 인덱스를 제거한다.
+ *
+ * chatapp.read-watermark.migration.enabled=true 로 기동할 때만 실행된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.read-watermark.migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadWatermarkMigration implements ApplicationRunner {
+
+    private static final String LEGACY_READERS_INDEX = "readers_userId_idx";
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageReadStatusService messageReadStatusService;
+
+    @Value("${chatapp.read-watermark.migration.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startTime = System.currentTimeMillis();
+        log.info("Read watermark migration started - batchSize: {}", batchSize);
+
+        int migrated = migrateWatermarks();
+        long cleaned = removeLegacyReaders();
+        dropLegacyIndex();
+
+        log.info("Read watermark migration finished - watermarks: {}, cleaned messages: {}, elapsed: {}ms",
+                migrated, cleaned, System.currentTimeMillis() - startTime);
+    }
+
+    private int migrateWatermarks() {
+        String collection = mongoTemplate.getCollectionName(Message.class);
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("readers.0", new Document("$exists", true))),
+                new Document("$project", new Document("room", 1).append("timestamp", 1).append("readers.userId", 1)),
+                new Document("$unwind", "$readers"),
+                new Document("$group", new Document("_id",
+                        new Document("room", "$room").append("userId", "$readers.userId"))
+                        .append("latest", new Document("$top", new Document()
+                                .append("sortBy", new Document("timestamp", -1))
+                                .append("output", new Document("messageId", "$_id")
+                                        .append("timestamp", "$timestamp")))))
+        );
+
+        int migrated = 0;
+        List<RoomReadWatermark> batch = new ArrayList<>(batchSize);
+        for (Document row : mongoTemplate.getCollection(collection)
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .batchSize(batchSize)) {
+            batch.add(toWatermark(row));
+            if (batch.size() >= batchSize) {
+                migrated += messageReadStatusService.advanceWatermarks(batch);
+                batch.clear();
+            }
+        }
+        migrated += messageReadStatusService.advanceWatermarks(batch);
+        return migrated;
+    }
+
+    private RoomReadWatermark toWatermark(Document row) {
+        Document key = row.get("_id", Document.class);
+        Document latest = row.get("latest", Document.class);
+        Object messageId = latest.get("messageId");
+        Date timestamp = latest.getDate("timestamp");
+
+        return RoomReadWatermark.builder()
+                .roomId(key.getString("room"))
+                .userId(key.getString("userId"))
+                .lastReadMessageId(messageId != null ? messageId.toString() : null)
+                .lastReadTimestamp(timestamp != null
+                        ? LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault())
+                        : null)
+                .build();
+    }
+
+    private long removeLegacyReaders() {
+        long cleaned = 0;
+        while (true) {
+            Query idQuery = Query.query(Criteria.where("readers").exists(true)).limit(batchSize);
+            idQuery.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(idQuery, Document.class, mongoTemplate.getCollectionName(Message.class))
+                    .stream()
+                    .map(doc -> doc.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return cleaned;
+            }
+            cleaned += mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids)),
+                    new Update().unset("readers"),
+                    Message.class
+            ).getModifiedCount();
+        }
+    }
+
+    private void dropLegacyIndex() {
+        var indexOps = mongoTemplate.indexOps(Message.class);
+        boolean exists = indexOps.getIndexInfo().stream()
+                .anyMatch(index -> LEGACY_READERS_INDEX.equals(index.getName()));
+        if (exists) {
+            indexOps.dropIndex(LEGACY_READERS_INDEX);
+            log.info("Dropped legacy index {}", LEGACY_READERS_INDEX);
+        }
+    }
+}
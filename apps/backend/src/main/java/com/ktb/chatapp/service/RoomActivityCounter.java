@@ -0,0 +1,229 @@
+package com.ktb.chatapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방별 최근 메시지 수(최근 10분) 카운터
+ * 메시지마다 Mongo에서 범위 count를 하는 대신, 분 단위 ring buffer로 메모리에서 집계한다.
+ * 각 노드의 증가분은 주기적으로 Redis 분 단위 hash에 HINCRBY로 병합하고,
+ * 같은 스크립트 호출에서 전체 노드의 합계를 읽어와 조회 시 O(1)로 사용한다.
+ */
+@Slf4j
+@Component
+public class RoomActivityCounter {
+
+    static final int WINDOW_MINUTES = 10;
+
+    // 클러스터 모드에서 한 번의 스크립트로 처리할 수 있도록 같은 hash slot 사용
+    private static final String KEY_PREFIX = "{room-activity}:";
+    private static final int KEY_TTL_SECONDS = (WINDOW_MINUTES + 2) * 60;
+
+    // KEYS: 윈도우 내 분 단위 hash (오래된 순), ARGV: ttl, (key index, roomId, delta)...
+    // 증가분 병합 후 윈도우 전체 hash를 반환
+    private static final String MERGE_SCRIPT = """
+            local ttl = tonumber(ARGV[1])
+            for i = 2, #ARGV, 3 do
+              local key = KEYS[tonumber(ARGV[i])]
+              redis.call('HINCRBY', key, ARGV[i + 1], ARGV[i + 2])
+              redis.call('EXPIRE', key, ttl)
+            end
+            local result = {}
+            for i = 1, #KEYS do
+              result[i] = redis.call('HGETALL', KEYS[i])
+            end
+            return result
+            """;
+
+    private final RedissonClient redissonClient;
+    private final Clock clock;
+    private final Timer mergeTimer;
+    private final Counter mergeFailureCounter;
+
+    // 아직 Redis에 병합되지 않은 이 노드의 증가분
+    private final ConcurrentHashMap<String, ActivityRing> pending = new ConcurrentHashMap<>();
+    // 마지막 병합 시점의 전체 노드 합계
+    private volatile Map<String, ActivityRing> merged = Map.of();
+
+    @Autowired
+    public RoomActivityCounter(
+            @Qualifier("socketIoRedisClient") RedissonClient redissonClient,
+            MeterRegistry meterRegistry) {
+        this(redissonClient, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RoomActivityCounter(RedissonClient redissonClient, MeterRegistry meterRegistry, Clock clock) {
+        this.redissonClient = redissonClient;
+        this.clock = clock;
+        this.mergeTimer = Timer.builder("room_activity.merge.time")
+                .description("Room activity counter Redis merge duration")
+                .register(meterRegistry);
+        this.mergeFailureCounter = Counter.builder("room_activity.merge.failures")
+                .description("Room activity counter Redis merge failures")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 채팅방 메시지 1건 기록
+     */
+    public void record(String roomId) {
+        if (roomId == null) {
+            return;
+        }
+        long minute = currentMinute();
+        pending.compute(roomId, (key, ring) -> {
+            ActivityRing target = ring != null ? ring : new ActivityRing();
+            target.add(minute, 1);
+            return target;
+        });
+    }
+
+    /**
+     * 최근 10분간 메시지 수 (전체 노드 병합값 + 이 노드의 미병합 증가분)
+     */
+    public int recentCount(String roomId) {
+        long minute = currentMinute();
+        int count = 0;
+        ActivityRing cluster = merged.get(roomId);
+        if (cluster != null) {
+            count += cluster.sum(minute);
+        }
+        ActivityRing local = pending.get(roomId);
+        if (local != null) {
+            count += local.sum(minute);
+        }
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.room-activity.merge-interval-ms:5000}")
+    public void merge() {
+        mergeTimer.record(this::mergeInternal);
+    }
+
+    @PreDestroy
+    public void mergeOnShutdown() {
+        merge();
+    }
+
+    private void mergeInternal() {
+        long nowMinute = currentMinute();
+        long oldestMinute = nowMinute - WINDOW_MINUTES + 1;
+
+        Map<String, ActivityRing> drained = drainPending();
+
+        List<Object> keys = new ArrayList<>(WINDOW_MINUTES);
+        for (long minute = oldestMinute; minute <= nowMinute; minute++) {
+            keys.add(KEY_PREFIX + minute);
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(KEY_TTL_SECONDS));
+        drained.forEach((roomId, ring) -> ring.forEach(oldestMinute, nowMinute, (minute, count) -> {
+            args.add(String.valueOf(minute - oldestMinute + 1));
+            args.add(roomId);
+            args.add(String.valueOf(count));
+        }));
+
+        try {
+            List<Object> windows = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, MERGE_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+            merged = toRings(windows, oldestMinute);
+        } catch (Exception e) {
+            // 병합 실패 시 증가분을 되돌려 다음 주기에 재시도
+            mergeFailureCounter.increment();
+            drained.forEach((roomId, ring) -> pending.merge(roomId, ring, ActivityRing::addAll));
+            log.warn("Room activity merge failed - pending rooms: {}", drained.size(), e);
+        }
+    }
+
+    private Map<String, ActivityRing> drainPending() {
+        Map<String, ActivityRing> drained = new HashMap<>();
+        for (String roomId : new ArrayList<>(pending.keySet())) {
+            ActivityRing ring = pending.remove(roomId);
+            if (ring != null) {
+                drained.put(roomId, ring);
+            }
+        }
+        return drained;
+    }
+
+    private static Map<String, ActivityRing> toRings(List<Object> windows, long oldestMinute) {
+        Map<String, ActivityRing> rings = new HashMap<>();
+        for (int i = 0; i < windows.size(); i++) {
+            if (!(windows.get(i) instanceof List<?> entries)) {
+                continue;
+            }
+            long minute = oldestMinute + i;
+            for (int j = 0; j + 1 < entries.size(); j += 2) {
+                String roomId = String.valueOf(entries.get(j));
+                int count = Integer.parseInt(String.valueOf(entries.get(j + 1)));
+                rings.computeIfAbsent(roomId, key -> new ActivityRing()).add(minute, count);
+            }
+        }
+        return rings;
+    }
+
+    private long currentMinute() {
+        return clock.millis() / 60_000L;
+    }
+
+    /**
+     * 분 단위 ring buffer. 슬롯의 분이 바뀌면 재사용한다.
+     */
+    static final class ActivityRing {
+        private final long[] minutes = new long[WINDOW_MINUTES];
+        private final int[] counts = new int[WINDOW_MINUTES];
+
+        synchronized void add(long minute, int delta) {
+            int slot = (int) Math.floorMod(minute, (long) WINDOW_MINUTES);
+            if (minutes[slot] != minute) {
+                minutes[slot] = minute;
+                counts[slot] = 0;
+            }
+            counts[slot] += delta;
+        }
+
+        synchronized int sum(long nowMinute) {
+            int total = 0;
+            for (int slot = 0; slot < WINDOW_MINUTES; slot++) {
+                if (nowMinute - minutes[slot] < WINDOW_MINUTES && minutes[slot] <= nowMinute && counts[slot] > 0) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+
+        synchronized void forEach(long fromMinute, long toMinute, MinuteCountConsumer consumer) {
+            for (int slot = 0; slot < WINDOW_MINUTES; slot++) {
+                if (counts[slot] > 0 && minutes[slot] >= fromMinute && minutes[slot] <= toMinute) {
+                    consumer.accept(minutes[slot], counts[slot]);
+                }
+            }
+        }
+
+        ActivityRing addAll(ActivityRing other) {
+            other.forEach(Long.MIN_VALUE, Long.MAX_VALUE, this::add);
+            return this;
+        }
+    }
+
+    @FunctionalInterface
+    interface MinuteCountConsumer {
+        void accept(long minute, int count);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ktb.chatapp.service;
+
+import com.mongodb.client.MongoCollection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 목록 total 캐시
+ * 검색 조건이 없으면 컬렉션 메타데이터 기반 estimatedDocumentCount, 있으면 countDocuments 결과를
+ * 짧은 시간 재사용한다. 값은 근사치이며 목록 응답의 total 표시에만 사용한다.
+ */
+@Component
+public class RoomCountCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private record CachedCount(long count, Instant expiresAt) {
+    }
+
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @Value("${chatapp.room-list.count-cache-ttl:PT30S}")
+    private Duration ttl;
+
+    public long count(MongoCollection<Document> rooms, Document filter) {
+        String key = filter.toJson();
+        Instant now = Instant.now();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.count();
+        }
+
+        long count = filter.isEmpty() ? rooms.estimatedDocumentCount() : rooms.countDocuments(filter);
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        }
+        if (counts.size() < MAX_ENTRIES) {
+            counts.put(key, new CachedCount(count, now.plus(ttl)));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ktb.chatapp.service;
+
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * 채팅방 목록 keyset 커서 (createdAt, _id)
+ * 문자열 형식: "{createdAt epoch millis},{_id}"
+ */
+record RoomCursor(Date createdAt, Object id) {
+
+    static RoomCursor of(Document room) {
+        return new RoomCursor(room.getDate("createdAt"), room.get("_id"));
+    }
+
+    static RoomCursor parse(String value) {
+        int separator = value.indexOf(',');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        try {
+            Date createdAt = new Date(Long.parseLong(value.substring(0, separator).trim()));
+            String id = value.substring(separator + 1).trim();
+            return new RoomCursor(createdAt, ObjectId.isValid(id) ? new ObjectId(id) : id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    String encode() {
+        return (createdAt != null ? createdAt.getTime() : 0) + "," + id;
+    }
+
+    /**
+     * 정렬 방향 기준으로 이 커서 다음에 오는 문서 조건
+     */
+    Document filter(boolean ascending) {
+        String op = ascending ? "$gt" : "$lt";
+        return new Document("$or", List.of(
+                new Document("createdAt", new Document(op, createdAt)),
+                new Document("createdAt", createdAt).append("_id", new Document(op, id))));
+    }
+}
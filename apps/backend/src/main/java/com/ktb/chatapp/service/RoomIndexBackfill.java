@@ -0,0 +1,79 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.util.RoomNameTokenizer;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 rooms 문서에 검색/정렬용 파생 필드(nameTokens, participantCount)를 채우는 일회성 배치.
+ * 새로 저장되는 방은 Room.RoomEventListener가 채우므로 필드가 없는 문서만 처리한다.
+ *
+ * chatapp.room-index.backfill.enabled=true 로 기동할 때만 실행된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.room-index.backfill.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RoomIndexBackfill implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${chatapp.room-index.backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startTime = System.currentTimeMillis();
+        log.info("Room index backfill started - batchSize: {}", batchSize);
+
+        long nameTokens = backfillNameTokens();
+        long participantCounts = backfillParticipantCounts();
+
+        log.info("Room index backfill finished - nameTokens: {}, participantCount: {}, elapsed: {}ms",
+                nameTokens, participantCounts, System.currentTimeMillis() - startTime);
+    }
+
+    private long backfillNameTokens() {
+        String collection = mongoTemplate.getCollectionName(Room.class);
+        long updated = 0;
+        while (true) {
+            Query query = Query.query(Criteria.where("nameTokens").exists(false)).limit(batchSize);
+            query.fields().include("_id").include("name");
+            List<Document> rooms = mongoTemplate.find(query, Document.class, collection);
+            if (rooms.isEmpty()) {
+                return updated;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            for (Document room : rooms) {
+                bulk.updateOne(
+                        Query.query(Criteria.where("_id").is(room.get("_id"))),
+                        Update.update("nameTokens", RoomNameTokenizer.tokens(room.getString("name"))));
+            }
+            updated += bulk.execute().getModifiedCount();
+        }
+    }
+
+    // 서버에서 participantIds 크기로 계산하는 pipeline update 한 번으로 처리
+    private long backfillParticipantCounts() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Room.class))
+                .updateMany(
+                        new Document("participantCount", new Document("$exists", false)),
+                        List.of(new Document("$set", new Document("participantCount",
+                                new Document("$size", new Document("$ifNull", List.of("$participantIds", List.of())))))))
+                .getModifiedCount();
+    }
+}
@@ -0,0 +1,255 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.event.RoomCreatedEvent;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 채팅방 목록 페이지 캐시
+ * (page, size, sort, search, cursor) 별로 직렬화된 응답을 보관하고, 방 생성/변경/참여자 변경 이벤트로 무효화한다.
+ * 다른 노드의 변경은 Redis topic으로 전달받는다.
+ * ETag는 응답 본문의 해시이므로 같은 내용이면 노드와 무관하게 같은 값이 된다.
+ * 같은 키의 동시 miss는 한 번만 조회하고, 조회 도중 그 페이지에 영향을 주는 무효화가 있었던 결과만 버린다.
+ */
+@Slf4j
+@Component
+public class RoomListCache {
+
+    private static final String TOPIC = "room-list:invalidate";
+    private static final String ALL = "*";
+
+    private final RedissonClient redissonClient;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // 진행 중인 조회. 같은 키의 요청은 이 결과를 기다리고, 조회 도중의 무효화는 여기에 기록된다.
+    private final ConcurrentHashMap<Key, Load> loading = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Counter invalidationCounter;
+
+    private RTopic topic;
+    private int listenerId = -1;
+
+    @Value("${chatapp.room-list-cache.ttl:PT10S}")
+    private Duration ttl;
+
+    @Value("${chatapp.room-list-cache.max-entries:500}")
+    private int maxEntries;
+
+    public RoomListCache(
+            @Qualifier("socketIoRedisClient") RedissonClient redissonClient,
+            MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.hitCounter = Counter.builder("room_list_cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("room_list_cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("room_list_cache.requests")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("room_list_cache.invalidations")
+                .description("Room list cache invalidations")
+                .register(meterRegistry);
+    }
+
+    public record Key(int page, int pageSize, String sortField, String sortOrder, String search,
+                      String after, boolean includeTotal) {
+
+        public static Key of(int page, int pageSize, String sortField, String sortOrder, String search,
+                             String after, boolean includeTotal) {
+            // 검색은 대소문자 무시 부분 일치이므로 정규화된 검색어로 키를 만든다
+            String normalized = search == null || search.isBlank()
+                    ? null
+                    : search.trim().toLowerCase(Locale.ROOT);
+            return new Key(page, pageSize, sortField, sortOrder, normalized, after, includeTotal);
+        }
+
+        boolean sortedByParticipants() {
+            return "participantsCount".equals(sortField);
+        }
+    }
+
+    /**
+     * @param body 직렬화된 응답 (application/json)
+     * @param etag strong ETag, 캐시하지 않는 응답이면 null
+     * @param roomIds 페이지에 포함된 채팅방 ID (선택적 무효화용)
+     */
+    public record Entry(byte[] body, String etag, Instant lastModified, Set<String> roomIds) {
+
+        public static Entry uncached(byte[] body) {
+            return new Entry(body, null, Instant.now(), Set.of());
+        }
+
+        public static Entry of(byte[] body, Set<String> roomIds) {
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new Entry(body, etag, Instant.now(), roomIds);
+        }
+
+        boolean isExpired(Duration ttl) {
+            return lastModified.plus(ttl).isBefore(Instant.now());
+        }
+    }
+
+    @PostConstruct
+    void subscribe() {
+        try {
+            topic = redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+            listenerId = topic.addListener(String.class, (channel, message) -> onRemoteInvalidation(message));
+        } catch (Exception e) {
+            // Redis 없이도 로컬 무효화와 TTL로 동작
+            log.warn("Room list cache invalidation topic unavailable", e);
+        }
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        if (topic != null && listenerId != -1) {
+            topic.removeListener(listenerId);
+        }
+    }
+
+    /**
+     * 캐시된 페이지를 반환하고, 없거나 만료되었으면 loader로 새로 만든다.
+     * 같은 키를 이미 조회 중이면 그 결과를 기다린다. ETag가 없는 응답(조회 실패 등)은 저장하지 않는다.
+     */
+    public Entry get(Key key, Supplier<Entry> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null && !cached.isExpired(ttl)) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        Load load = new Load();
+        Load inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            try {
+                return inFlight.future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        missCounter.increment();
+
+        Entry loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.future.completeExceptionally(e);
+            throw e;
+        }
+
+        try {
+            if (loaded.etag() != null && hasRoomFor(key)) {
+                // 저장 후 확인: 확인 이후의 무효화는 저장된 항목을 직접 제거한다
+                entries.put(key, loaded);
+                if (load.isStale(key, loaded)) {
+                    entries.remove(key, loaded);
+                }
+            }
+        } finally {
+            loading.remove(key, load);
+            load.future.complete(loaded);
+        }
+        return loaded;
+    }
+
+    private boolean hasRoomFor(Key key) {
+        if (entries.size() < maxEntries || entries.containsKey(key)) {
+            return true;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(ttl));
+        return entries.size() < maxEntries;
+    }
+
+    @EventListener
+    public void onRoomCreated(RoomCreatedEvent event) {
+        // 새 방은 모든 페이지의 total/순서에 영향
+        invalidate(ALL, true);
+    }
+
+    @EventListener
+    public void onRoomUpdated(RoomUpdatedEvent event) {
+        invalidate(event.getRoomId(), true);
+    }
+
+    @EventListener
+    public void onParticipantsChanged(RoomParticipantsChangedEvent event) {
+        invalidate(event.getRoomId(), true);
+    }
+
+    private void onRemoteInvalidation(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        invalidate(message.substring(separator + 1), false);
+    }
+
+    void invalidate(String roomId, boolean broadcast) {
+        invalidationCounter.increment();
+        loading.values().forEach(load -> load.invalidated.add(roomId));
+        if (ALL.equals(roomId)) {
+            entries.clear();
+        } else {
+            // 해당 방이 포함된 페이지와, 참여자 수 정렬 페이지(순서가 바뀔 수 있음)를 제거
+            entries.entrySet().removeIf(e ->
+                    e.getValue().roomIds().contains(roomId) || e.getKey().sortedByParticipants());
+        }
+
+        if (broadcast && topic != null) {
+            try {
+                topic.publishAsync(nodeId + "|" + roomId);
+            } catch (Exception e) {
+                log.warn("Room list cache invalidation publish failed - roomId: {}", roomId, e);
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 조회와 그동안 무효화된 방 ID
+     */
+    private static final class Load {
+
+        private final CompletableFuture<Entry> future = new CompletableFuture<>();
+        private final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+
+        // 전체 무효화, 페이지에 포함된 방의 무효화, 참여자 수 정렬 페이지의 모든 무효화는 결과를 낡게 만든다
+        boolean isStale(Key key, Entry loaded) {
+            if (invalidated.isEmpty()) {
+                return false;
+            }
+            if (key.sortedByParticipants() || invalidated.contains(ALL)) {
+                return true;
+            }
+            return invalidated.stream().anyMatch(loaded.roomIds()::contains);
+        }
+    }
+}
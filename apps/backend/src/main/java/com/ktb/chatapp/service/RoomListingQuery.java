@@ -0,0 +1,208 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.util.RoomNameTokenizer;
+import com.mongodb.client.MongoCollection;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 목록 조회용 집계 쿼리
+ * 방마다 생성자/참여자/최근 메시지 수를 따로 조회하던 N+1 대신,
+ * 인덱스 정렬 + $lookup(users)으로 된 하나의 aggregation으로 페이지를 만든다.
+ * createdAt 정렬은 (createdAt, _id) 커서로 skip 없이 이어서 조회하고, total은 요청할 때만 캐시된 근사값을 쓴다.
+ * 최근 메시지 수는 RoomActivityCounter에서 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomListingQuery {
+
+    private final MongoTemplate mongoTemplate;
+    private final RoomActivityCounter roomActivityCounter;
+    private final RoomCountCache roomCountCache;
+
+    /**
+     * @param search 채팅방 이름 검색어 (대소문자 무시 부분 일치, null 가능)
+     * @param sortField createdAt, name, participantsCount
+     * @param ascending 오름차순 여부
+     * @param after createdAt 정렬에서 이 커서 다음부터 조회 (null이면 page 오프셋 사용)
+     * @param includeTotal 전체 개수(캐시된 근사값) 포함 여부
+     */
+    public record Request(String search, String sortField, boolean ascending, int page, int pageSize,
+                          String after, boolean includeTotal) {
+
+        public static Request firstPage(String sortField, boolean ascending, int pageSize) {
+            return new Request(null, sortField, ascending, 0, pageSize, null, false);
+        }
+    }
+
+    /**
+     * @param total includeTotal이 아니면 null
+     * @param nextCursor createdAt 정렬이고 다음 페이지가 있을 때만 값이 있음
+     */
+    public record Result(List<RoomResponse> rooms, boolean hasMore, Long total, String nextCursor) {
+    }
+
+    /**
+     * @param name 현재 사용자 (isCreator 계산용)
+     */
+    public Result find(Request request, String name) {
+        Document filter = request.search() != null && !request.search().isBlank()
+                ? searchFilter(request.search())
+                : new Document();
+        MongoCollection<Document> rooms = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Room.class));
+
+        boolean keyset = "createdAt".equals(request.sortField());
+        RoomCursor cursor = keyset && request.after() != null && !request.after().isBlank()
+                ? RoomCursor.parse(request.after())
+                : null;
+
+        List<Document> pipeline = new ArrayList<>();
+        Document match = cursor != null ? andFilter(filter, cursor.filter(request.ascending())) : filter;
+        if (!match.isEmpty()) {
+            pipeline.add(new Document("$match", match));
+        }
+        // 커서가 있으면 skip 없이 인덱스 위치에서 바로 시작, limit + 1 개로 hasMore 판단
+        long skip = cursor != null ? 0 : (long) request.page() * request.pageSize();
+        pipeline.addAll(pageStages(request.sortField(), request.ascending(), skip, request.pageSize() + 1));
+
+        List<Document> docs = new ArrayList<>();
+        rooms.aggregate(pipeline).into(docs);
+        boolean hasMore = docs.size() > request.pageSize();
+        if (hasMore) {
+            docs = docs.subList(0, request.pageSize());
+        }
+
+        List<RoomResponse> responses = docs.stream()
+                .map(doc -> toRoomResponse(doc, name))
+                .toList();
+        String nextCursor = keyset && hasMore ? RoomCursor.of(docs.getLast()).encode() : null;
+        Long total = request.includeTotal() ? roomCountCache.count(rooms, filter) : null;
+
+        return new Result(responses, hasMore, total, nextCursor);
+    }
+
+    private static Document andFilter(Document left, Document right) {
+        return left.isEmpty() ? right : new Document("$and", List.of(left, right));
+    }
+
+    /**
+     * nameTokens 인덱스로 후보를 좁히고, 3자를 넘는 검색어는 후보에 한해 부분 일치를 확인한다.
+     */
+    static Document searchFilter(String search) {
+        List<String> tokens = RoomNameTokenizer.queryTokens(search);
+        Document filter = tokens.size() == 1
+                ? new Document("nameTokens", tokens.getFirst())
+                : new Document("nameTokens", new Document("$all", tokens));
+        String normalized = RoomNameTokenizer.normalize(search);
+        if (normalized.codePointCount(0, normalized.length()) > RoomNameTokenizer.MAX_GRAM) {
+            filter.append("name", new Document("$regex", Pattern.quote(search.trim())).append("$options", "i"));
+        }
+        return filter;
+    }
+
+    private List<Document> pageStages(String sortField, boolean ascending, long skip, int limit) {
+        int direction = ascending ? 1 : -1;
+        List<Document> stages = new ArrayList<>();
+
+        // 참여자 수 정렬은 비정규화된 participantCount 인덱스(participantCount_createdAt_idx)를 그대로 탐색
+        Document sort = "participantsCount".equals(sortField)
+                ? new Document("participantCount", direction).append("createdAt", direction)
+                : new Document(sortField, direction);
+        stages.add(new Document("$sort", sort.append("_id", direction)));
+        if (skip > 0) {
+            stages.add(new Document("$skip", skip));
+        }
+        stages.add(new Document("$limit", limit));
+
+        // participantIds/creator는 문자열로, users._id는 ObjectId로 저장되므로 변환 후 인덱스 조인
+        stages.add(new Document("$addFields", new Document()
+                .append("participantObjectIds", new Document("$map", new Document()
+                        .append("input", new Document("$ifNull", List.of("$participantIds", List.of())))
+                        .append("as", "id")
+                        .append("in", toObjectId("$$id"))))
+                .append("creatorObjectId", toObjectId("$creator"))));
+
+        Document userProjection = new Document("$project", new Document("name", 1).append("email", 1));
+        String users = mongoTemplate.getCollectionName(User.class);
+        stages.add(lookup(users, "participantObjectIds", "_id", List.of(userProjection), "participants"));
+        stages.add(lookup(users, "creatorObjectId", "_id", List.of(userProjection), "creatorUser"));
+
+        stages.add(new Document("$project", new Document()
+                .append("name", 1)
+                .append("creator", 1)
+                .append("hasPassword", 1)
+                .append("createdAt", 1)
+                .append("participantCount", 1)
+                .append("participants", 1)
+                .append("creatorUser", 1)));
+        return stages;
+    }
+
+    private static Document toObjectId(String expression) {
+        return new Document("$convert", new Document()
+                .append("input", expression)
+                .append("to", "objectId")
+                .append("onError", expression)
+                .append("onNull", null));
+    }
+
+    private static Document lookup(String from, String localField, String foreignField,
+                                   List<Document> pipeline, String as) {
+        return new Document("$lookup", new Document()
+                .append("from", from)
+                .append("localField", localField)
+                .append("foreignField", foreignField)
+                .append("pipeline", pipeline)
+                .append("as", as));
+    }
+
+    private RoomResponse toRoomResponse(Document doc, String name) {
+        String creatorId = doc.getString("creator");
+        List<Document> creatorDocs = doc.getList("creatorUser", Document.class, List.of());
+        Document creator = creatorDocs.isEmpty() ? null : creatorDocs.getFirst();
+
+        List<UserResponse> participants = doc.getList("participants", Document.class, List.of()).stream()
+                .map(RoomListingQuery::toUserResponse)
+                .toList();
+
+        String roomId = doc.get("_id").toString();
+        Date createdAt = doc.getDate("createdAt");
+        Number participantCount = doc.get("participantCount", Number.class);
+
+        return RoomResponse.builder()
+                .id(roomId)
+                .name(doc.getString("name") != null ? doc.getString("name") : "제목 없음")
+                .hasPassword(Boolean.TRUE.equals(doc.getBoolean("hasPassword")))
+                .creator(creator != null ? toUserResponse(creator) : null)
+                .participants(participants)
+                .participantCount(participantCount != null ? participantCount.intValue() : null)
+                .createdAtDateTime(createdAt != null
+                        ? LocalDateTime.ofInstant(createdAt.toInstant(), ZoneId.systemDefault())
+                        : null)
+                .isCreator(creator != null && creatorId != null && creatorId.equals(name))
+                .recentMessageCount(roomActivityCounter.recentCount(roomId))
+                .build();
+    }
+
+    private static UserResponse toUserResponse(Document user) {
+        return UserResponse.builder()
+                .id(user.get("_id").toString())
+                .name(user.getString("name") != null ? user.getString("name") : "알 수 없음")
+                .email(user.getString("email") != null ? user.getString("email") : "")
+                .build();
+    }
+}
@@ -1,11 +1,12 @@
 package com.ktb.chatapp.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ktb.chatapp.dto.*;
 import com.ktb.chatapp.event.RoomCreatedEvent;
 import com.ktb.chatapp.event.RoomUpdatedEvent;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import java.time.LocalDateTime;
@@ -13,12 +14,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -30,62 +30,93 @@ public class RoomService {
 
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
-    private final MessageRepository messageRepository;
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
+    private final RoomListingQuery roomListingQuery;
+    private final RoomActivityCounter roomActivityCounter;
+    private final RoomListCache roomListCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 채팅방 목록 페이지를 직렬화된 형태로 조회한다 (RoomListCache 사용).
+     * 목록 응답에는 사용자별 값이 없으므로 모든 사용자가 같은 캐시 항목을 공유한다.
+     */
+    public RoomListCache.Entry getRoomListPage(com.ktb.chatapp.dto.PageRequest pageRequest, String name) {
+        normalizeSort(pageRequest);
+        RoomListCache.Key key = RoomListCache.Key.of(
+            pageRequest.getPage(),
+            pageRequest.getPageSize(),
+            pageRequest.getSortField(),
+            pageRequest.getSortOrder(),
+            pageRequest.getSearch(),
+            pageRequest.getAfter(),
+            pageRequest.isIncludeTotal());
+
+        return roomListCache.get(key, () -> {
+            RoomsResponse response = getAllRoomsWithPagination(pageRequest, name);
+            byte[] body = serialize(response);
+            if (!response.isSuccess()) {
+                return RoomListCache.Entry.uncached(body);
+            }
+            Set<String> roomIds = response.getData().stream()
+                .map(RoomResponse::getId)
+                .collect(Collectors.toSet());
+            return RoomListCache.Entry.of(body, roomIds);
+        });
+    }
+
+    private byte[] serialize(RoomsResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void normalizeSort(com.ktb.chatapp.dto.PageRequest pageRequest) {
+        if (!pageRequest.isValidSortField()) {
+            pageRequest.setSortField("createdAt");
+        }
+        if (!pageRequest.isValidSortOrder()) {
+            pageRequest.setSortOrder("desc");
+        }
+    }
 
     public RoomsResponse getAllRoomsWithPagination(
             com.ktb.chatapp.dto.PageRequest pageRequest, String name) {
 
         try {
             // 정렬 설정 검증
-            if (!pageRequest.isValidSortField()) {
-                pageRequest.setSortField("createdAt");
-            }
-            if (!pageRequest.isValidSortOrder()) {
-                pageRequest.setSortOrder("desc");
-            }
+            normalizeSort(pageRequest);
 
             // 정렬 방향 설정
             Sort.Direction direction = "desc".equals(pageRequest.getSortOrder())
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
-            // 정렬 필드 매핑 (participantsCount는 특별 처리 필요)
-            String sortField = pageRequest.getSortField();
-            if ("participantsCount".equals(sortField)) {
-                sortField = "participantIds"; // MongoDB 필드명으로 변경
-            }
-
-            // Pageable 객체 생성
-            PageRequest springPageRequest = PageRequest.of(
+            // 생성자/참여자/최근 메시지 수를 포함한 페이지를 하나의 aggregation으로 조회
+            RoomListingQuery.Result result = roomListingQuery.find(new RoomListingQuery.Request(
+                pageRequest.getSearch(),
+                pageRequest.getSortField(),
+                direction == Sort.Direction.ASC,
                 pageRequest.getPage(),
                 pageRequest.getPageSize(),
-                Sort.by(direction, sortField)
-            );
-
-            // 검색어가 있는 경우와 없는 경우 분리
-            Page<Room> roomPage;
-            if (pageRequest.getSearch() != null && !pageRequest.getSearch().trim().isEmpty()) {
-                roomPage = roomRepository.findByNameContainingIgnoreCase(
-                    pageRequest.getSearch().trim(), springPageRequest);
-            } else {
-                roomPage = roomRepository.findAll(springPageRequest);
-            }
-
-            // Room을 RoomResponse로 변환
-            List<RoomResponse> roomResponses = roomPage.getContent().stream()
-                .map(room -> mapToRoomResponse(room, name))
-                .collect(Collectors.toList());
+                pageRequest.getAfter(),
+                pageRequest.isIncludeTotal()), name);
+            List<RoomResponse> roomResponses = result.rooms();
+            Long totalPages = result.total() != null
+                ? (result.total() + pageRequest.getPageSize() - 1) / pageRequest.getPageSize()
+                : null;
 
             // 메타데이터 생성
             PageMetadata metadata = PageMetadata.builder()
-                .total(roomPage.getTotalElements())
+                .total(result.total())
                 .page(pageRequest.getPage())
                 .pageSize(pageRequest.getPageSize())
-                .totalPages(roomPage.getTotalPages())
-                .hasMore(roomPage.hasNext())
+                .totalPages(totalPages)
+                .hasMore(result.hasMore())
                 .currentCount(roomResponses.size())
+                .nextCursor(result.nextCursor())
                 .sort(PageMetadata.SortInfo.builder()
                     .field(pageRequest.getSortField())
                     .order(pageRequest.getSortOrder())
@@ -98,6 +129,9 @@ public class RoomService {
                 .metadata(metadata)
                 .build();
 
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서 등 요청 오류는 호출 측에서 400으로 처리
+            throw e;
         } catch (Exception e) {
             log.error("방 목록 조회 에러", e);
             return RoomsResponse.builder()
@@ -227,15 +261,8 @@ public class RoomService {
             creator = userRepository.findById(room.getCreator()).orElse(null);
         }
 
-        List<User> participants = room.getParticipantIds().stream()
-            .map(userRepository::findById)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .toList();
-
-        // 최근 10분간 메시지 수 조회
-        LocalDateTime tenMinutesAgo = LocalDateTime.now().minusMinutes(10);
-        long recentMessageCount = messageRepository.countRecentMessagesByRoomId(room.getId(), tenMinutesAgo);
+        // 참여자는 한 번의 $in 조회로 가져온다
+        List<User> participants = userRepository.findAllById(room.getParticipantIds());
 
         return RoomResponse.builder()
             .id(room.getId())
@@ -256,7 +283,7 @@ public class RoomService {
                 .collect(Collectors.toList()))
             .createdAtDateTime(room.getCreatedAt())
             .isCreator(creator != null && creator.getId().equals(name))
-            .recentMessageCount((int) recentMessageCount)
+            .recentMessageCount(roomActivityCounter.recentCount(room.getId()))
             .build();
     }
 }
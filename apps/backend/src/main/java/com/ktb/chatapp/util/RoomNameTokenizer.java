@@ -0,0 +1,62 @@
+package com.ktb.chatapp.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 채팅방 이름 부분 일치 검색용 n-gram 토큰 생성기
+ * 이름의 길이 1~3 부분 문자열을 모두 토큰으로 저장하여 (rooms.nameTokens, multikey 인덱스)
+ * 3자 이하 검색어는 토큰 하나의 일치로, 더 긴 검색어는 trigram 전체 포함으로 후보를 좁힌다.
+ */
+public final class RoomNameTokenizer {
+
+    public static final int MAX_GRAM = 3;
+
+    private RoomNameTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text.trim(), Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 저장용 토큰: 정규화된 이름의 길이 1~3 부분 문자열
+     */
+    public static Set<String> tokens(String name) {
+        String normalized = normalize(name);
+        int[] codePoints = normalized.codePoints().toArray();
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int start = 0; start < codePoints.length; start++) {
+            for (int length = 1; length <= MAX_GRAM && start + length <= codePoints.length; length++) {
+                tokens.add(new String(codePoints, start, length));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색용 토큰: 3자 이하면 검색어 자체, 더 길면 검색어의 trigram
+     * 모든 토큰이 포함된 이름이 후보이며, 정확한 부분 일치는 호출 측에서 후보에 한해 확인한다.
+     */
+    public static List<String> queryTokens(String search) {
+        String normalized = normalize(search);
+        int[] codePoints = normalized.codePoints().toArray();
+        if (codePoints.length == 0) {
+            return List.of();
+        }
+        if (codePoints.length <= MAX_GRAM) {
+            return List.of(normalized);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int start = 0; start + MAX_GRAM <= codePoints.length; start++) {
+            grams.add(new String(codePoints, start, MAX_GRAM));
+        }
+        return List.copyOf(grams);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 참가자 목록용 사용자 프로필 캐시
+ * 참가자마다 userRepository.findById를 하던 대신, 캐시에 없는 사용자만 findAllById 한 번으로 읽는다.
+ * 프로필 변경(이름/이미지)은 TTL 안에서만 늦게 반영된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantProfileCache {
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private final ConcurrentHashMap<String, CachedProfile> profiles = new ConcurrentHashMap<>();
+
+    @Value("${chatapp.participants.profile-cache-ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    @Value("${chatapp.participants.profile-cache-max-entries:50000}")
+    private int maxEntries = 50_000;
+
+    @Autowired
+    public ParticipantProfileCache(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this(userRepository, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    ParticipantProfileCache(UserRepository userRepository, MeterRegistry meterRegistry, Clock clock) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.hitCounter = Counter.builder("socketio.participants.profile_cache")
+                .tag("result", "hit")
+                .description("Participant profile cache lookups")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("socketio.participants.profile_cache")
+                .tag("result", "miss")
+                .description("Participant profile cache lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * userIds 순서대로 프로필을 반환한다. 존재하지 않는 사용자는 제외된다.
+     */
+    public List<UserResponse> getAll(Collection<String> userIds) {
+        Map<String, UserResponse> found = load(userIds);
+        List<UserResponse> result = new ArrayList<>(found.size());
+        for (String userId : userIds) {
+            UserResponse profile = found.get(userId);
+            if (profile != null) {
+                result.add(profile);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 여러 방의 참가자를 한 번에 조회할 때 사용 (userId -> 프로필)
+     */
+    public Map<String, UserResponse> load(Collection<String> userIds) {
+        long now = clock.millis();
+        Map<String, UserResponse> found = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            CachedProfile cached = profiles.get(userId);
+            if (cached != null && cached.expiresAt() > now) {
+                found.put(userId, cached.profile());
+            } else {
+                misses.add(userId);
+            }
+        }
+        hitCounter.increment(found.size());
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        missCounter.increment(misses.size());
+        if (profiles.size() + misses.size() > maxEntries) {
+            evictExpired(now);
+        }
+        long expiresAt = now + ttl.toMillis();
+        for (User user : userRepository.findAllById(misses)) {
+            UserResponse profile = UserResponse.from(user);
+            found.put(user.getId(), profile);
+            if (profiles.size() < maxEntries) {
+                profiles.put(user.getId(), new CachedProfile(profile, expiresAt));
+            }
+        }
+        return found;
+    }
+
+    private void evictExpired(long now) {
+        profiles.values().removeIf(cached -> cached.expiresAt() <= now);
+        log.debug("Participant profile cache evicted expired entries - remaining: {}", profiles.size());
+    }
+
+    private record CachedProfile(UserResponse profile, long expiresAt) {
+    }
+}
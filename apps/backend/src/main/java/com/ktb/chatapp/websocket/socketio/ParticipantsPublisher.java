@@ -0,0 +1,197 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ParticipantsDeltaResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.model.Room;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANTS_DELTA;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANTS_UPDATE;
+
+/**
+ * 채팅방별 참가자 목록 발송기
+ * 입장/퇴장마다 전체 참가자 목록을 다시 만들어 보내는 대신, 변경된 방을 dirty로 표시하고
+ * 주기마다 방당 최대 한 번만 보낸다. 참가자 ID는 한 번의 $in 조회로, 프로필은 ParticipantProfileCache에서 읽는다.
+ * delta-mode에서는 주기 동안 이 노드가 처리한 입장/퇴장만 participantsDelta로 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantsPublisher {
+
+    private final SocketIOServer socketIOServer;
+    private final MongoTemplate mongoTemplate;
+    private final ParticipantProfileCache profileCache;
+    private final Counter eventCounter;
+    private final Counter fullCounter;
+    private final Counter deltaCounter;
+    private final Timer flushTimer;
+
+    @Value("${chatapp.participants.delta-mode:false}")
+    private boolean deltaMode;
+
+    private final Object lock = new Object();
+    private Map<String, RoomChanges> dirty = new LinkedHashMap<>();
+
+    public ParticipantsPublisher(SocketIOServer socketIOServer, MongoTemplate mongoTemplate,
+                                 ParticipantProfileCache profileCache, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.mongoTemplate = mongoTemplate;
+        this.profileCache = profileCache;
+        this.eventCounter = Counter.builder("socketio.participants.changes")
+                .description("Participant join/leave changes marked dirty")
+                .register(meterRegistry);
+        this.fullCounter = Counter.builder("socketio.participants.broadcasts")
+                .tag("type", "full")
+                .description("Participant list broadcasts")
+                .register(meterRegistry);
+        this.deltaCounter = Counter.builder("socketio.participants.broadcasts")
+                .tag("type", "delta")
+                .description("Participant list broadcasts")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("socketio.participants.flush.time")
+                .description("Participant list flush duration")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onParticipantsChanged(RoomParticipantsChangedEvent event) {
+        if (event.getRoomId() == null) {
+            return;
+        }
+        eventCounter.increment();
+        synchronized (lock) {
+            RoomChanges changes = dirty.computeIfAbsent(event.getRoomId(), key -> new RoomChanges());
+            if (event.getUserId() == null) {
+                changes.unknown = true;
+            } else if (event.isJoined()) {
+                changes.removed.remove(event.getUserId());
+                changes.added.add(event.getUserId());
+            } else {
+                changes.added.remove(event.getUserId());
+                changes.removed.add(event.getUserId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.participants.broadcast-interval-ms:500}")
+    public void flush() {
+        Map<String, RoomChanges> batch;
+        synchronized (lock) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            batch = dirty;
+            dirty = new LinkedHashMap<>();
+        }
+
+        flushTimer.record(() -> {
+            try {
+                if (deltaMode) {
+                    publishDeltas(batch);
+                } else {
+                    publishFull(batch.keySet());
+                }
+            } catch (Exception e) {
+                log.error("참가자 목록 발송 실패: rooms={}", batch.size(), e);
+            }
+        });
+    }
+
+    private void publishDeltas(Map<String, RoomChanges> batch) {
+        Set<String> fullRooms = new LinkedHashSet<>();
+        Set<String> addedIds = new LinkedHashSet<>();
+        batch.forEach((roomId, changes) -> {
+            // 사용자 정보 없는 변경은 무엇이 바뀌었는지 모르므로 전체 목록으로 보낸다
+            if (changes.unknown) {
+                fullRooms.add(roomId);
+            } else {
+                addedIds.addAll(changes.added);
+            }
+        });
+
+        Map<String, UserResponse> profiles = addedIds.isEmpty() ? Map.of() : profileCache.load(addedIds);
+        long timestamp = System.currentTimeMillis();
+        batch.forEach((roomId, changes) -> {
+            if (changes.unknown || (changes.added.isEmpty() && changes.removed.isEmpty())) {
+                return;
+            }
+            List<UserResponse> added = changes.added.stream()
+                    .map(profiles::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            ParticipantsDeltaResponse delta = ParticipantsDeltaResponse.builder()
+                    .roomId(roomId)
+                    .added(added)
+                    .removed(new ArrayList<>(changes.removed))
+                    .timestamp(timestamp)
+                    .build();
+            socketIOServer.getRoomOperations(roomId).sendEvent(PARTICIPANTS_DELTA, delta);
+            deltaCounter.increment();
+        });
+
+        if (!fullRooms.isEmpty()) {
+            publishFull(fullRooms);
+        }
+    }
+
+    private void publishFull(Set<String> roomIds) {
+        Map<String, List<String>> participantIds = loadParticipantIds(roomIds);
+        Set<String> userIds = new LinkedHashSet<>();
+        participantIds.values().forEach(userIds::addAll);
+        Map<String, UserResponse> profiles = userIds.isEmpty() ? Map.of() : profileCache.load(userIds);
+
+        participantIds.forEach((roomId, ids) -> {
+            List<UserResponse> participants = ids.stream()
+                    .map(profiles::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (participants.isEmpty()) {
+                return;
+            }
+            socketIOServer.getRoomOperations(roomId).sendEvent(PARTICIPANTS_UPDATE, participants);
+            fullCounter.increment();
+        });
+        log.debug("participantsUpdate 발송: rooms={}, users={}", participantIds.size(), userIds.size());
+    }
+
+    private Map<String, List<String>> loadParticipantIds(Set<String> roomIds) {
+        List<Object> ids = roomIds.stream()
+                .<Object>map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        Map<String, List<String>> participants = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Room.class))
+                .find(new Document("_id", new Document("$in", ids)))
+                .projection(new Document("participantIds", 1))
+                .forEach(doc -> participants.put(doc.get("_id").toString(),
+                        doc.getList("participantIds", String.class, List.of())));
+        return participants;
+    }
+
+    private static final class RoomChanges {
+        private final Set<String> added = new LinkedHashSet<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+        private boolean unknown;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.RoomListDeltaResponse;
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.event.RoomCreatedEvent;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import com.ktb.chatapp.model.Room;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOM_LIST_DELTA;
+
+/**
+ * 채팅방 목록(room-list) 변경분 발송기
+ * 방 생성/참여자 변경마다 전체 RoomResponse를 모든 접속자에게 보내는 대신,
+ * 한 주기 동안의 변경을 모아 요약(생성)과 바뀐 필드(참여자 수)만 담은 이벤트 하나로 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomListDeltaPublisher {
+
+    private static final String ROOM_LIST = "room-list";
+
+    private final SocketIOServer socketIOServer;
+    private final MongoTemplate mongoTemplate;
+    private final Counter deltaCounter;
+
+    private final Object lock = new Object();
+    private Map<String, RoomListDeltaResponse.RoomSummary> created = new LinkedHashMap<>();
+    private Set<String> updated = new LinkedHashSet<>();
+
+    public RoomListDeltaPublisher(SocketIOServer socketIOServer, MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.mongoTemplate = mongoTemplate;
+        this.deltaCounter = Counter.builder("socketio.room_list.deltas")
+                .description("Room list delta events broadcast")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onRoomCreated(RoomCreatedEvent event) {
+        RoomResponse room = event.getRoomResponse();
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        RoomListDeltaResponse.RoomSummary summary = new RoomListDeltaResponse.RoomSummary(
+                room.getId(),
+                room.getName(),
+                room.isHasPassword(),
+                room.getParticipantsCount(),
+                room.getCreatedAtDateTime() != null
+                        ? room.getCreatedAtDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : System.currentTimeMillis());
+        synchronized (lock) {
+            created.put(room.getId(), summary);
+        }
+    }
+
+    @EventListener
+    public void onRoomUpdated(RoomUpdatedEvent event) {
+        markUpdated(event.getRoomId());
+    }
+
+    @EventListener
+    public void onParticipantsChanged(RoomParticipantsChangedEvent event) {
+        markUpdated(event.getRoomId());
+    }
+
+    private void markUpdated(String roomId) {
+        if (roomId == null) {
+            return;
+        }
+        synchronized (lock) {
+            updated.add(roomId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.room-list-delta.interval-ms:1000}")
+    public void flush() {
+        Map<String, RoomListDeltaResponse.RoomSummary> createdBatch;
+        Set<String> updatedBatch;
+        synchronized (lock) {
+            if (created.isEmpty() && updated.isEmpty()) {
+                return;
+            }
+            createdBatch = created;
+            updatedBatch = updated;
+            created = new LinkedHashMap<>();
+            updated = new LinkedHashSet<>();
+        }
+
+        try {
+            // 참여자 수는 주기당 한 번의 $in 조회로 최신 값을 읽는다
+            Map<String, Integer> counts = loadParticipantCounts(updatedBatch);
+            List<RoomListDeltaResponse.RoomChange> changes = new ArrayList<>();
+            for (String roomId : updatedBatch) {
+                Integer count = counts.get(roomId);
+                if (count == null) {
+                    continue;
+                }
+                RoomListDeltaResponse.RoomSummary summary = createdBatch.get(roomId);
+                if (summary != null) {
+                    summary.setParticipantsCount(count);
+                } else {
+                    changes.add(new RoomListDeltaResponse.RoomChange(roomId, count));
+                }
+            }
+            if (createdBatch.isEmpty() && changes.isEmpty()) {
+                return;
+            }
+
+            RoomListDeltaResponse delta = RoomListDeltaResponse.builder()
+                    .created(new ArrayList<>(createdBatch.values()))
+                    .updated(changes)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+            socketIOServer.getRoomOperations(ROOM_LIST).sendEvent(ROOM_LIST_DELTA, delta);
+            deltaCounter.increment();
+            log.debug("roomListDelta 발송: created={}, updated={}", createdBatch.size(), changes.size());
+        } catch (Exception e) {
+            log.error("roomListDelta 발송 실패: created={}, updated={}", createdBatch.size(), updatedBatch.size(), e);
+        }
+    }
+
+    private Map<String, Integer> loadParticipantCounts(Set<String> roomIds) {
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> ids = roomIds.stream()
+                .<Object>map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        Map<String, Integer> counts = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Room.class))
+                .find(new Document("_id", new Document("$in", ids)))
+                .projection(new Document("participantCount", 1))
+                .forEach(doc -> {
+                    Number count = doc.get("participantCount", Number.class);
+                    counts.put(doc.get("_id").toString(), count != null ? count.intValue() : 0);
+                });
+        return counts;
+    }
+}
@@ -1,7 +1,9 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessagesReadResponse;
 import com.ktb.chatapp.event.*;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamEventBus;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +20,8 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class SocketIOEventListener {
 
     private final SocketIOServer socketIOServer;
+    // AI 스트림 관련 전송은 청크와 같은 큐를 지나 채팅방 안의 순서를 유지
+    private final AiStreamEventBus aiStreamEventBus;
 
     @EventListener
     public void handleSessionEndedEvent(SessionEndedEvent event) {
@@ -34,22 +38,22 @@ public class SocketIOEventListener {
     }
 
     @EventListener
-    public void handleRoomCreatedEvent(RoomCreatedEvent event) {
+    public void handleRoomUpdatedEvent(RoomUpdatedEvent event) {
         try {
-            socketIOServer.getRoomOperations("room-list").sendEvent(ROOM_CREATED, event.getRoomResponse());
-            log.info("roomCreated 이벤트 발송: roomId={}", event.getRoomResponse().getId());
+            socketIOServer.getRoomOperations(event.getRoomId()).sendEvent(ROOM_UPDATE, event.getRoomResponse());
+            log.info("roomUpdate 이벤트 발송: roomId={}", event.getRoomId());
         } catch (Exception e) {
-            log.error("roomCreated 이벤트 발송 실패", e);
+            log.error("roomUpdate 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
     }
 
     @EventListener
-    public void handleRoomUpdatedEvent(RoomUpdatedEvent event) {
+    public void handleMessagesReadEvent(MessagesReadEvent event) {
         try {
-            socketIOServer.getRoomOperations(event.getRoomId()).sendEvent(ROOM_UPDATE, event.getRoomResponse());
-            log.info("roomUpdate 이벤트 발송: roomId={}", event.getRoomId());
+            socketIOServer.getRoomOperations(event.getRoomId())
+                    .sendEvent(MESSAGES_READ, new MessagesReadResponse(event.getUserId(), event.getMessageIds()));
         } catch (Exception e) {
-            log.error("roomUpdate 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
+            log.error("messagesRead 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
     }
 
@@ -61,8 +65,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_START, data);
+            aiStreamEventBus.publish(event.getRoomId(), AI_MESSAGE_START, data);
             log.info("aiMessageStart 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getMessageId());
         } catch (Exception e) {
@@ -71,18 +74,16 @@ public class SocketIOEventListener {
     }
 
     @EventListener
-    public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
+    public void handleAiMessageQueuedEvent(AiMessageQueuedEvent event) {
         try {
             Map<String, Object> data = Map.of(
                 "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
+                "aiType", event.getAiType(),
+                "position", event.getPosition()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
+            aiStreamEventBus.publish(event.getRoomId(), AI_MESSAGE_QUEUED, data);
         } catch (Exception e) {
-            log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
+            log.error("aiMessageQueued 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
     }
 
@@ -96,8 +97,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_COMPLETE, data);
+            aiStreamEventBus.publish(event.getRoomId(), AI_MESSAGE_COMPLETE, data);
             log.info("aiMessageComplete 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getSavedMessageId());
         } catch (Exception e) {
@@ -113,8 +113,7 @@ public class SocketIOEventListener {
                 "error", event.getErrorMessage(),
                 "aiType", event.getAiType()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_ERROR, data);
+            aiStreamEventBus.publish(event.getRoomId(), AI_MESSAGE_ERROR, data);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
                     event.getRoomId(), event.getMessageId(), event.getErrorMessage());
         } catch (Exception e) {
@@ -46,6 +46,18 @@ public final class SocketIOEvents {
      * Payload: { messageId, reaction, type }
      */
     public static final String MESSAGE_REACTION = "messageReaction";
+
+    /**
+     * 재접속 후 채팅방 동기화 요청
+     * Payload: { roomId, lastMessageId, since, limit }
+     */
+    public static final String SYNC_ROOM = "syncRoom";
+
+    /**
+     * 채팅방 목록 변경분 수신 설정
+     * Payload: { pauseInRoom }
+     */
+    public static final String ROOM_LIST_PREFERENCE = "roomListPreference";
     
     // ============================================
     // Server → Client Events (전송 이벤트)
@@ -93,10 +105,16 @@ public final class SocketIOEvents {
     public static final String PARTICIPANTS_UPDATE = "participantsUpdate";
 
     /**
-     * 채팅방 생성 알림
-     * Payload: RoomResponse
+     * 참가자 목록 변경분 (chatapp.participants.delta-mode=true일 때 participantsUpdate 대신 발송)
+     * Payload: ParticipantsDeltaResponse
+     */
+    public static final String PARTICIPANTS_DELTA = "participantsDelta";
+
+    /**
+     * 채팅방 목록 변경분 (주기별 생성/변경 요약)
+     * Payload: RoomListDeltaResponse
      */
-    public static final String ROOM_CREATED = "roomCreated";
+    public static final String ROOM_LIST_DELTA = "roomListDelta";
 
     /**
      * 채팅방 정보 업데이트
@@ -128,6 +146,12 @@ public final class SocketIOEvents {
      */
     public static final String MESSAGE_REACTION_UPDATE = "messageReactionUpdate";
 
+    /**
+     * 채팅방 동기화 결과
+     * Payload: SyncRoomResponse
+     */
+    public static final String ROOM_SYNCED = "roomSynced";
+
     /**
      * 중복 로그인 감지
      * Payload: { type, deviceInfo, ipAddress, timestamp }
@@ -151,12 +175,25 @@ public final class SocketIOEvents {
      */
     public static final String AI_MESSAGE_START = "aiMessageStart";
 
+    /**
+     * AI 응답 대기 (동시 생성 한도로 대기열에 들어감, 차례가 오면 AI_MESSAGE_START)
+     * Payload: { messageId, aiType, position }
+     */
+    public static final String AI_MESSAGE_QUEUED = "aiMessageQueued";
+
     /**
      * AI 스트리밍 청크
-     * Payload: { messageId, currentChunk, fullContent, isCodeBlock, timestamp, aiType, isComplete }
+     * Payload: { messageId, delta, seq, isCodeBlock, isComplete }
+     * delta는 이번 청크만 담으며, seq가 건너뛰면 AI_MESSAGE_SNAPSHOT으로 전체 내용을 요청한다.
      */
     public static final String AI_MESSAGE_CHUNK = "aiMessageChunk";
 
+    /**
+     * AI 스트리밍 전체 내용 요청/응답
+     * Request: { messageId }, Response: { messageId, content, seq }
+     */
+    public static final String AI_MESSAGE_SNAPSHOT = "aiMessageSnapshot";
+
     /**
      * AI 스트리밍 완료
      * Payload: { messageId, _id, content, aiType, timestamp, isComplete, query, reactions }
@@ -0,0 +1,173 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.websocket.socketio.handler.MessageResponseMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
+
+/**
+ * 입장/퇴장 시스템 메시지 발송기 (chatapp.system-messages.mode)
+ * - persist: 입장/퇴장마다 system 메시지를 저장하고 브로드캐스트 (기존 동작)
+ * - ephemeral: 저장하지 않고 브로드캐스트만 한다. 히스토리에는 남지 않으며 ID는 "ephemeral-" 접두사를 가진다.
+ *   동기화 커서/읽음/리액션 대상이 될 수 없으므로 클라이언트는 마지막 저장 메시지 ID를 커서로 유지한다.
+ * - aggregate: 주기 동안의 입장/퇴장을 방당 하나의 메시지("A, B 외 12명이 입장하였습니다.")로 저장하고 브로드캐스트
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SystemMessagePublisher {
+
+    public enum Mode {
+        PERSIST, EPHEMERAL, AGGREGATE
+    }
+
+    private final SocketIOServer socketIOServer;
+    private final MessageRepository messageRepository;
+    private final MessageResponseMapper messageResponseMapper;
+    private final Counter persistedCounter;
+    private final Counter ephemeralCounter;
+
+    private Mode mode = Mode.PERSIST;
+
+    @Value("${chatapp.system-messages.aggregate-max-names:3}")
+    private int maxNames = 3;
+
+    private final Object lock = new Object();
+    private Map<String, RoomNotices> pending = new LinkedHashMap<>();
+
+    public SystemMessagePublisher(SocketIOServer socketIOServer, MessageRepository messageRepository,
+                                  MessageResponseMapper messageResponseMapper, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.messageRepository = messageRepository;
+        this.messageResponseMapper = messageResponseMapper;
+        this.persistedCounter = Counter.builder("socketio.system_messages")
+                .tag("result", "persisted")
+                .description("Join/leave system messages")
+                .register(meterRegistry);
+        this.ephemeralCounter = Counter.builder("socketio.system_messages")
+                .tag("result", "ephemeral")
+                .description("Join/leave system messages")
+                .register(meterRegistry);
+    }
+
+    @Value("${chatapp.system-messages.mode:persist}")
+    void setMode(String mode) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public void userJoined(String roomId, String userName) {
+        publish(roomId, userName, true);
+    }
+
+    public void userLeft(String roomId, String userName) {
+        publish(roomId, userName, false);
+    }
+
+    private void publish(String roomId, String userName, boolean joined) {
+        if (mode == Mode.AGGREGATE) {
+            synchronized (lock) {
+                RoomNotices notices = pending.computeIfAbsent(roomId, key -> new RoomNotices());
+                (joined ? notices.joined : notices.left).add(userName);
+            }
+            return;
+        }
+        send(systemMessage(roomId, userName + (joined ? "님이 입장하였습니다." : "님이 퇴장하였습니다."), Map.of()));
+    }
+
+    @Scheduled(fixedDelayString = "${chatapp.system-messages.aggregate-interval-ms:10000}")
+    public void flush() {
+        Map<String, RoomNotices> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        batch.forEach((roomId, notices) -> {
+            List<String> sentences = new ArrayList<>(2);
+            if (!notices.joined.isEmpty()) {
+                sentences.add(summarize(notices.joined) + "이 입장하였습니다.");
+            }
+            if (!notices.left.isEmpty()) {
+                sentences.add(summarize(notices.left) + "이 퇴장하였습니다.");
+            }
+            send(systemMessage(roomId, String.join(" ", sentences), Map.of(
+                    "aggregated", true,
+                    "joinedCount", notices.joined.size(),
+                    "leftCount", notices.left.size())));
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // "A님", "A, B님", "A, B, C 외 12명"
+    private String summarize(Set<String> names) {
+        List<String> shown = names.stream().limit(Math.max(1, maxNames)).toList();
+        int others = names.size() - shown.size();
+        String joinedNames = String.join(", ", shown);
+        return others > 0 ? joinedNames + " 외 " + others + "명" : joinedNames + "님";
+    }
+
+    private Message systemMessage(String roomId, String content, Map<String, Object> metadata) {
+        Message message = new Message();
+        message.setRoomId(roomId);
+        message.setContent(content);
+        message.setType(MessageType.system);
+        // 저장 시점의 시간을 사용해 timestamp 커서 기반 히스토리/동기화가 누락 없이 이어지도록 한다
+        message.setTimestamp(LocalDateTime.now());
+        message.setMentions(new ArrayList<>());
+        message.setIsDeleted(false);
+        message.setReactions(new HashMap<>());
+        message.setMetadata(new HashMap<>(metadata));
+        return message;
+    }
+
+    private void send(Message message) {
+        try {
+            if (mode == Mode.EPHEMERAL) {
+                // 저장하지 않는 메시지는 DB ID와 겹치지 않는 ID를 붙여 클라이언트 중복 제거에만 사용
+                message.setId(Message.EPHEMERAL_ID_PREFIX + UUID.randomUUID());
+                message.getMetadata().put("ephemeral", true);
+                ephemeralCounter.increment();
+            } else {
+                message = messageRepository.save(message);
+                persistedCounter.increment();
+            }
+            socketIOServer.getRoomOperations(message.getRoomId())
+                    .sendEvent(MESSAGE, messageResponseMapper.mapToMessageResponse(message, null));
+        } catch (Exception e) {
+            log.error("Error sending system message - roomId: {}", message.getRoomId(), e);
+        }
+    }
+
+    private static final class RoomNotices {
+        private final Set<String> joined = new LinkedHashSet<>();
+        private final Set<String> left = new LinkedHashSet<>();
+    }
+}
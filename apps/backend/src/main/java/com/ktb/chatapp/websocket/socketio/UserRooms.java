@@ -40,6 +40,20 @@ public class UserRooms {
         chatDataStore.set(buildKey(userId), rooms);
     }
 
+    /**
+     * Replace a user's room set
+     *
+     * @param userId the user ID
+     * @param roomIds the room IDs the user is in (empty removes the entry)
+     */
+    public void set(String userId, Set<String> roomIds) {
+        if (roomIds.isEmpty()) {
+            chatDataStore.delete(buildKey(userId));
+        } else {
+            chatDataStore.set(buildKey(userId), new HashSet<>(roomIds));
+        }
+    }
+
     /**
      * Remove a specific room ID from a user's room set
      *
@@ -0,0 +1,102 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 진행 중인 AI 스트리밍 세션 저장소 (messageId별, 채팅방별)
+ * 스트림 중간에 입장/재접속한 클라이언트에게 현재까지의 내용과 seq를 보내
+ * 이후 delta부터 이어서 받을 수 있게 한다. 완료/에러 시 제거된다.
+ */
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ActiveStreamRegistry {
+
+    private final ConcurrentHashMap<String, StreamingSession> sessions = new ConcurrentHashMap<>();
+    // roomId -> 진행 중인 messageId
+    private final ConcurrentHashMap<String, Set<String>> roomSessions = new ConcurrentHashMap<>();
+
+    public ActiveStreamRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("ai.streams.active", sessions, ConcurrentHashMap::size)
+                .description("AI streaming sessions currently in progress")
+                .register(meterRegistry);
+    }
+
+    public void register(StreamingSession session) {
+        sessions.put(session.getMessageId(), session);
+        // remove의 빈 방 정리와 겹치지 않도록 compute 안에서 추가
+        roomSessions.compute(session.getRoomId(), (roomId, messageIds) -> {
+            Set<String> target = messageIds != null ? messageIds : ConcurrentHashMap.newKeySet();
+            target.add(session.getMessageId());
+            return target;
+        });
+    }
+
+    public void remove(String messageId) {
+        StreamingSession session = messageId != null ? sessions.remove(messageId) : null;
+        if (session == null) {
+            return;
+        }
+        // 빈 방 항목은 원자적으로 정리
+        roomSessions.computeIfPresent(session.getRoomId(), (roomId, messageIds) -> {
+            messageIds.remove(messageId);
+            return messageIds.isEmpty() ? null : messageIds;
+        });
+    }
+
+    public Optional<StreamingSession> find(String messageId) {
+        return messageId != null ? Optional.ofNullable(sessions.get(messageId)) : Optional.empty();
+    }
+
+    /**
+     * 채팅방의 진행 중인 스트림 (시작 시간 순, 현재까지의 내용과 seq 포함)
+     * 클라이언트는 seq 이하의 청크를 무시하고 이후 delta를 이어 붙인다.
+     */
+    public List<ActiveStreamResponse> activeStreams(String roomId) {
+        Set<String> messageIds = roomSessions.get(roomId);
+        if (messageIds == null || messageIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<StreamingSession> active = new ArrayList<>(messageIds.size());
+        for (String messageId : messageIds) {
+            StreamingSession session = sessions.get(messageId);
+            if (session != null) {
+                active.add(session);
+            }
+        }
+        active.sort(Comparator.comparingLong(StreamingSession::getTimestamp));
+
+        return active.stream()
+                .map(ActiveStreamRegistry::toResponse)
+                .toList();
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    private static ActiveStreamResponse toResponse(StreamingSession session) {
+        StreamingSession.Snapshot snapshot = session.snapshot();
+        return ActiveStreamResponse.builder()
+                .id(session.getMessageId())
+                .type("ai")
+                .aiType(session.getAiType())
+                .content(snapshot.content())
+                .seq(snapshot.seq())
+                .timestamp(Instant.ofEpochMilli(session.getTimestamp()).toString())
+                .isStreaming(true)
+                .build();
+    }
+}
@@ -0,0 +1,269 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageQueuedEvent;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 응답 생성 작업 스케줄러
+ * 멘션마다 바로 upstream 스트림을 여는 대신 전체 동시 실행 수(max-concurrent)와 방당 동시 실행 수를 제한하고,
+ * 대기 작업은 방별 큐에 두어 방 단위 round-robin으로 꺼낸다.
+ * 바로 시작하지 못한 작업은 aiMessageQueued로 알리고, 참여자가 모두 나간 방의 작업은 취소한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiJobScheduler {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomRepository roomRepository;
+    private final Timer queueTimer;
+    private final Counter rejectedCounter;
+    private final Counter cancelledCounter;
+
+    @Value("${chatapp.ai.jobs.max-concurrent:64}")
+    private int maxConcurrent = 64;
+
+    @Value("${chatapp.ai.jobs.max-concurrent-per-room:2}")
+    private int maxConcurrentPerRoom = 2;
+
+    @Value("${chatapp.ai.jobs.max-queued-per-room:20}")
+    private int maxQueuedPerRoom = 20;
+
+    // 아래 상태는 모두 this로 동기화
+    private final Map<String, ArrayDeque<Job>> queues = new HashMap<>();
+    // 대기 작업이 있는 방의 순서 (round-robin)
+    private final ArrayDeque<String> roomOrder = new ArrayDeque<>();
+    private final Map<String, Job> running = new HashMap<>();
+    private final Map<String, Integer> runningPerRoom = new HashMap<>();
+    private int queued;
+
+    public AiJobScheduler(ApplicationEventPublisher eventPublisher, RoomRepository roomRepository,
+                          MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.roomRepository = roomRepository;
+        this.queueTimer = Timer.builder("ai.jobs.queue.time")
+                .description("Time AI jobs wait before their upstream stream starts")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ai.jobs.rejected")
+                .description("AI jobs rejected because the room queue was full")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("ai.jobs.cancelled")
+                .description("AI jobs cancelled because the room emptied")
+                .register(meterRegistry);
+        Gauge.builder("ai.jobs.running", this, scheduler -> scheduler.runningCount())
+                .description("AI jobs currently streaming")
+                .register(meterRegistry);
+        Gauge.builder("ai.jobs.queued", this, scheduler -> scheduler.queuedCount())
+                .description("AI jobs waiting in room queues")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 등록. 한도 안이면 바로 시작하고, 아니면 방 큐에 넣고 aiMessageQueued를 발행한다.
+     *
+     * @param starter upstream 스트림을 구독하고 그 구독자를 반환 (취소용)
+     */
+    public void submit(StreamingSession session, Supplier<AiStreamHandler> starter) {
+        Job job = new Job(session, starter, System.nanoTime());
+        int position;
+        synchronized (this) {
+            ArrayDeque<Job> queue = queues.computeIfAbsent(session.getRoomId(), key -> new ArrayDeque<>());
+            if (queue.size() >= maxQueuedPerRoom) {
+                position = -1;
+            } else {
+                if (queue.isEmpty()) {
+                    roomOrder.addLast(session.getRoomId());
+                }
+                queue.addLast(job);
+                queued++;
+                position = queue.size();
+            }
+        }
+
+        if (position < 0) {
+            rejectedCounter.increment();
+            eventPublisher.publishEvent(new AiMessageErrorEvent(this, session.getRoomId(), session.getMessageId(),
+                    "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", session.aiTypeEnum()));
+            return;
+        }
+
+        dispatch();
+
+        boolean waiting;
+        synchronized (this) {
+            waiting = !job.started && !job.cancelled;
+        }
+        if (waiting) {
+            eventPublisher.publishEvent(new AiMessageQueuedEvent(this, session.getRoomId(),
+                    session.getMessageId(), session.getAiType(), position));
+        }
+    }
+
+    @EventListener
+    public void onAiMessageComplete(AiMessageCompleteEvent event) {
+        release(event.getMessageId());
+    }
+
+    @EventListener
+    public void onAiMessageError(AiMessageErrorEvent event) {
+        release(event.getMessageId());
+    }
+
+    /**
+     * 퇴장으로 참여자가 모두 나간 방의 실행/대기 작업 취소
+     */
+    @EventListener
+    public void onParticipantsChanged(RoomParticipantsChangedEvent event) {
+        String roomId = event.getRoomId();
+        if (event.isJoined() || roomId == null || !hasJobs(roomId)) {
+            return;
+        }
+        if (!roomRepository.hasParticipants(roomId)) {
+            cancelRoom(roomId);
+        }
+    }
+
+    public void cancelRoom(String roomId) {
+        List<Job> cancelled = new ArrayList<>();
+        synchronized (this) {
+            ArrayDeque<Job> queue = queues.remove(roomId);
+            if (queue != null) {
+                queued -= queue.size();
+                roomOrder.remove(roomId);
+                cancelled.addAll(queue);
+            }
+            running.values().stream()
+                    .filter(job -> roomId.equals(job.session.getRoomId()))
+                    .forEach(cancelled::add);
+            cancelled.forEach(job -> job.cancelled = true);
+        }
+
+        for (Job job : cancelled) {
+            if (job.handler != null) {
+                job.handler.cancel();
+            }
+            cancelledCounter.increment();
+            // AiService 세션 정리와 슬롯 반환은 에러 이벤트 처리에서 함께 된다
+            eventPublisher.publishEvent(new AiMessageErrorEvent(this, roomId, job.session.getMessageId(),
+                    "채팅방에 참여자가 없어 AI 응답을 중단했습니다.", job.session.aiTypeEnum()));
+        }
+        if (!cancelled.isEmpty()) {
+            log.info("AI jobs cancelled for empty room - roomId: {}, jobs: {}", roomId, cancelled.size());
+        }
+    }
+
+    private void release(String messageId) {
+        synchronized (this) {
+            Job job = running.remove(messageId);
+            if (job == null) {
+                return;
+            }
+            runningPerRoom.computeIfPresent(job.session.getRoomId(), (key, count) -> count > 1 ? count - 1 : null);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        List<Job> toStart = new ArrayList<>();
+        synchronized (this) {
+            // 한 바퀴 동안 방마다 최대 한 작업씩 꺼내며, 시작할 작업이 없을 때까지 반복
+            boolean progressed = true;
+            while (progressed && running.size() < maxConcurrent && !roomOrder.isEmpty()) {
+                progressed = false;
+                int rooms = roomOrder.size();
+                for (int i = 0; i < rooms && running.size() < maxConcurrent; i++) {
+                    String roomId = roomOrder.pollFirst();
+                    ArrayDeque<Job> queue = queues.get(roomId);
+                    if (runningPerRoom.getOrDefault(roomId, 0) >= maxConcurrentPerRoom) {
+                        roomOrder.addLast(roomId);
+                        continue;
+                    }
+                    Job job = queue.pollFirst();
+                    queued--;
+                    job.started = true;
+                    running.put(job.session.getMessageId(), job);
+                    runningPerRoom.merge(roomId, 1, Integer::sum);
+                    toStart.add(job);
+                    progressed = true;
+                    if (queue.isEmpty()) {
+                        queues.remove(roomId);
+                    } else {
+                        roomOrder.addLast(roomId);
+                    }
+                }
+            }
+        }
+
+        for (Job job : toStart) {
+            start(job);
+        }
+    }
+
+    private void start(Job job) {
+        queueTimer.record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            AiStreamHandler handler = job.starter.get();
+            boolean cancelled;
+            synchronized (this) {
+                job.handler = handler;
+                cancelled = job.cancelled;
+            }
+            // 시작 도중 방이 비어 취소된 경우
+            if (cancelled) {
+                handler.cancel();
+            }
+        } catch (Exception e) {
+            log.error("Failed to start AI job - messageId: {}", job.session.getMessageId(), e);
+            eventPublisher.publishEvent(new AiMessageErrorEvent(this, job.session.getRoomId(),
+                    job.session.getMessageId(), "AI 응답 생성을 시작하지 못했습니다.", job.session.aiTypeEnum()));
+        }
+    }
+
+    private synchronized boolean hasJobs(String roomId) {
+        return queues.containsKey(roomId) || runningPerRoom.containsKey(roomId);
+    }
+
+    synchronized int runningCount() {
+        return running.size();
+    }
+
+    synchronized int queuedCount() {
+        return queued;
+    }
+
+    private static final class Job {
+        private final StreamingSession session;
+        private final Supplier<AiStreamHandler> starter;
+        private final long enqueuedAt;
+        private AiStreamHandler handler;
+        private boolean started;
+        private boolean cancelled;
+
+        private Job(StreamingSession session, Supplier<AiStreamHandler> starter, long enqueuedAt) {
+            this.session = session;
+            this.starter = starter;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * 페르소나별 AI 응답 캐시
+ * (AiType, 정규화된 질문)이 같은 완료 응답은 모델을 다시 호출하지 않고 청크로 나눠 스트림처럼 재생한다.
+ * 같은 질문이 생성 중이면 upstream 스트림 하나를 공유한다.
+ * 캐시는 TTL과 최대 개수(LRU)로 제한한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiResponseCache {
+
+    private final Clock clock;
+    private final Counter hitCounter;
+    private final Counter sharedCounter;
+    private final Counter missCounter;
+
+    @Value("${chatapp.ai.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${chatapp.ai.response-cache.ttl:PT10M}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${chatapp.ai.response-cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    // 이보다 긴 응답은 캐시하지 않음
+    @Value("${chatapp.ai.response-cache.max-answer-chars:16384}")
+    private int maxAnswerChars = 16384;
+
+    @Value("${chatapp.ai.response-cache.replay-chunk-chars:16}")
+    private int replayChunkChars = 16;
+
+    @Value("${chatapp.ai.response-cache.replay-chunk-delay-ms:20}")
+    private long replayChunkDelayMs = 20;
+
+    // access-order LRU, this로 동기화
+    private final LinkedHashMap<Key, CachedAnswer> answers = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<Key, Flux<ChunkData>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AiResponseCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemDefaultZone());
+    }
+
+    AiResponseCache(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.hitCounter = Counter.builder("ai.response_cache.requests")
+                .tag("result", "hit")
+                .description("AI response cache lookups")
+                .register(meterRegistry);
+        this.sharedCounter = Counter.builder("ai.response_cache.requests")
+                .tag("result", "shared")
+                .description("AI response cache lookups")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.response_cache.requests")
+                .tag("result", "miss")
+                .description("AI response cache lookups")
+                .register(meterRegistry);
+    }
+
+    record Key(AiType aiType, String query) {
+    }
+
+    private record CachedAnswer(String content, long expiresAt) {
+    }
+
+    static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 캐시된 응답이 있으면 재생 스트림, 같은 질문이 생성 중이면 공유 스트림, 아니면 upstream을 구독하며 완료 시 저장한다.
+     */
+    public Flux<ChunkData> stream(AiType aiType, String query, Supplier<Flux<ChunkData>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        Key key = new Key(aiType, normalize(query));
+
+        String cached = lookup(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return replay(cached);
+        }
+
+        boolean[] created = {false};
+        Flux<ChunkData> shared = inFlight.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return share(k, upstream.get());
+        });
+        (created[0] ? missCounter : sharedCounter).increment();
+        return shared;
+    }
+
+    // 늦게 구독한 요청도 처음 청크부터 받도록 replay, 모든 구독자가 취소하면 upstream도 취소
+    // 취소 직후 새 구독자가 오면 upstream을 다시 구독하므로 누적 버퍼는 구독마다 새로 만든다
+    private Flux<ChunkData> share(Key key, Flux<ChunkData> upstream) {
+        AtomicReference<Flux<ChunkData>> self = new AtomicReference<>();
+        Flux<ChunkData> shared = Flux.defer(() -> {
+                    StringBuilder content = new StringBuilder();
+                    return upstream
+                            .doOnNext(chunk -> {
+                                if (content.length() <= maxAnswerChars) {
+                                    content.append(chunk.currentChunk());
+                                }
+                            })
+                            .doOnComplete(() -> store(key, content.toString()));
+                })
+                // 이미 다른 스트림으로 교체된 키는 지우지 않음
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .replay()
+                .refCount(1);
+        self.set(shared);
+        return shared;
+    }
+
+    private Flux<ChunkData> replay(String content) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < content.length()) {
+            int end = Math.min(content.length(), start + replayChunkChars);
+            // 서로게이트 쌍이 나뉘지 않도록 조정
+            if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+                end++;
+            }
+            // 코드 블록 구분자(```)가 두 청크로 나뉘면 청크별 상태 계산이 틀어지므로 백틱 연속은 한 청크에 둔다
+            while (end < content.length() && content.charAt(end) == '`' && content.charAt(end - 1) == '`') {
+                end++;
+            }
+            pieces.add(content.substring(start, end));
+            start = end;
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean codeBlockState = new AtomicBoolean(false);
+            Flux<ChunkData> chunks = Flux.fromIterable(pieces)
+                    .map(piece -> ChunkData.from(piece).updateCodeBlockState(codeBlockState));
+            return replayChunkDelayMs > 0
+                    ? chunks.delayElements(Duration.ofMillis(replayChunkDelayMs))
+                    : chunks;
+        });
+    }
+
+    private synchronized String lookup(Key key) {
+        CachedAnswer answer = answers.get(key);
+        if (answer == null) {
+            return null;
+        }
+        if (answer.expiresAt() <= clock.millis()) {
+            answers.remove(key);
+            return null;
+        }
+        return answer.content();
+    }
+
+    private synchronized void store(Key key, String content) {
+        if (content.isBlank() || content.length() > maxAnswerChars) {
+            return;
+        }
+        answers.put(key, new CachedAnswer(content, clock.millis() + ttl.toMillis()));
+        while (answers.size() > maxEntries) {
+            Map.Entry<Key, CachedAnswer> eldest = answers.entrySet().iterator().next();
+            answers.remove(eldest.getKey());
+        }
+    }
+
+    synchronized int size() {
+        return answers.size();
+    }
+}
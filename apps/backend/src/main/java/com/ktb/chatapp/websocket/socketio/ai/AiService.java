@@ -2,6 +2,7 @@ package com.ktb.chatapp.websocket.socketio.ai;
 
 import com.ktb.chatapp.dto.MessageContent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.event.AiMessageSavedEvent;
 import com.ktb.chatapp.event.AiMessageStartEvent;
 import com.ktb.chatapp.model.AiType;
@@ -11,6 +12,7 @@ import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,14 +33,32 @@ public class AiService {
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
     private final MessageRepository messageRepository;
+    private final AiStreamPacer aiStreamPacer;
+    private final AiJobScheduler aiJobScheduler;
+    private final AiResponseCache aiResponseCache;
+    private final ActiveStreamRegistry activeStreamRegistry;
+    private final AiStreamEventBus aiStreamEventBus;
+
+    // 같은 밀리초에 시작한 멘션의 messageId 충돌 방지
+    private final AtomicLong messageSequence = new AtomicLong();
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageRepository messageRepository,
+            AiStreamPacer aiStreamPacer,
+            AiJobScheduler aiJobScheduler,
+            AiResponseCache aiResponseCache,
+            ActiveStreamRegistry activeStreamRegistry,
+            AiStreamEventBus aiStreamEventBus) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
         this.messageRepository = messageRepository;
+        this.aiStreamPacer = aiStreamPacer;
+        this.aiJobScheduler = aiJobScheduler;
+        this.aiResponseCache = aiResponseCache;
+        this.activeStreamRegistry = activeStreamRegistry;
+        this.aiStreamEventBus = aiStreamEventBus;
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -50,18 +70,10 @@ public class AiService {
 
     private void startStreaming(String roomId, String userId, String aiType, String query) {
         
-        // AI 스트리밍 세션 생성 - messageId는 타입과 타임스탬프 조합
+        // AI 스트리밍 세션 생성 - messageId는 타입, 타임스탬프, 노드 내 순번 조합
         var timestamp = System.currentTimeMillis();
-        String messageId = aiType + "-" + timestamp;
+        String messageId = aiType + "-" + timestamp + "-" + messageSequence.incrementAndGet();
 
-        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
-            messageId, roomId, aiType, query);
-        
-        // AI 스트리밍 시작 이벤트 발행
-        eventPublisher.publishEvent(new AiMessageStartEvent(
-            this, roomId, messageId, aiType, timestamp
-        ));
-        
         // 스트리밍 세션 초기화
         StreamingSession session = StreamingSession.builder()
             .messageId(messageId)
@@ -71,10 +83,24 @@ public class AiService {
             .timestamp(timestamp)
             .query(query)
             .build();
-        
-        
-        streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+
+        // 동시 생성 한도 안에서 차례가 오면 시작
+        aiJobScheduler.submit(session, () -> start(session));
+    }
+
+    private AiStreamHandler start(StreamingSession session) {
+        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
+            session.getMessageId(), session.getRoomId(), session.getAiType(), session.getQuery());
+
+        // AI 스트리밍 시작 이벤트 발행
+        eventPublisher.publishEvent(new AiMessageStartEvent(
+            this, session.getRoomId(), session.getMessageId(), session.getAiType(), session.getTimestamp()
+        ));
+        activeStreamRegistry.register(session);
+
+        AiStreamHandler handler = new AiStreamHandler(session, eventPublisher, aiStreamPacer, aiStreamEventBus);
+        streamResponse(session).subscribe(handler);
+        return handler;
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -85,6 +111,14 @@ public class AiService {
                 return Flux.error(new IllegalArgumentException("Unknown AI persona"));
             }
 
+            // 같은 페르소나/질문은 캐시된 응답을 재생하거나 생성 중인 스트림을 공유
+            return aiResponseCache.stream(aiType, query, () -> modelResponse(aiType, query));
+        });
+    }
+
+    // 공유 스트림이 다시 구독될 수 있으므로 코드 블록 상태는 구독마다 새로 만든다
+    private Flux<ChunkData> modelResponse(AiType aiType, String query) {
+        return Flux.defer(() -> {
             Flux<String> contentStream = chatClient.prompt()
                     .system(aiType.getSystemPrompt())
                     .user(query)
@@ -118,8 +152,15 @@ public class AiService {
         } catch (Exception e) {
             log.error("Failed to save AI message - messageId: {}, roomId: {}",
                 event.getMessageId(), event.getRoomId(), e);
+        } finally {
+            activeStreamRegistry.remove(event.getMessageId());
         }
     }
+
+    @EventListener
+    public void onAiMessageErrorEvent(AiMessageErrorEvent event) {
+        activeStreamRegistry.remove(event.getMessageId());
+    }
     
     private Message getMessage(AiMessageCompleteEvent event) {
         Message aiMessage = new Message();
@@ -0,0 +1,189 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * AI 스트리밍 이벤트 전송 버스
+ * 청크마다 Spring 이벤트(리스너 타입 조회 + 동기 호출)를 거치지 않고, lock-free 큐에 넣은 뒤
+ * 전용 소비 스레드가 max-batch 개씩 꺼내 채팅방별로 묶어 Socket.IO로 보낸다.
+ * start/queued/chunk/complete/error 전송이 모두 이 큐를 지나므로 채팅방 안의 순서가 유지된다.
+ * 큐가 capacity를 넘으면 청크만 버리고(클라이언트는 seq 공백으로 aiMessageSnapshot 요청), 상태 이벤트는 항상 보낸다.
+ * 저장/동시성 슬롯 해제 같은 처리는 계속 Spring 이벤트(AiMessageCompleteEvent 등)로 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamEventBus {
+
+    // 큐가 비었을 때 소비 스레드가 쉬는 최대 시간 (publish 시 바로 깨움)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SocketIOServer socketIOServer;
+    private final ConcurrentLinkedQueue<StreamEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final DistributionSummary batchSize;
+    private final Timer dispatchDelay;
+    private final Counter droppedCounter;
+
+    @Value("${chatapp.ai.stream.bus.capacity:65536}")
+    private int capacity = 65536;
+
+    @Value("${chatapp.ai.stream.bus.max-batch:512}")
+    private int maxBatch = 512;
+
+    private volatile Thread consumer;
+    private volatile boolean running;
+    private volatile boolean parked;
+
+    public AiStreamEventBus(SocketIOServer socketIOServer, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.batchSize = DistributionSummary.builder("ai.stream.bus.batch")
+                .description("AI stream events sent per consumer batch")
+                .register(meterRegistry);
+        this.dispatchDelay = Timer.builder("ai.stream.bus.delay")
+                .description("Time AI stream events wait in the bus before being sent")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ai.stream.bus.dropped")
+                .description("AI stream chunks dropped because the bus was full")
+                .register(meterRegistry);
+        Gauge.builder("ai.stream.bus.depth", depth, AtomicInteger::get)
+                .description("AI stream events waiting in the bus")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::consume, "ai-stream-bus");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    /**
+     * 남은 이벤트를 모두 보낸 뒤 소비 스레드 종료
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = consumer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void chunk(String roomId, String messageId, String delta, long seq, boolean codeBlock) {
+        if (depth.get() >= capacity) {
+            droppedCounter.increment();
+            log.debug("AI stream bus full, chunk dropped - messageId: {}, seq: {}", messageId, seq);
+            return;
+        }
+        enqueue(roomId, AI_MESSAGE_CHUNK, Map.of(
+                "messageId", messageId,
+                "delta", delta,
+                "seq", seq,
+                "isCodeBlock", codeBlock,
+                "isComplete", false
+        ));
+    }
+
+    /**
+     * start/queued/complete/error 같은 상태 이벤트. 큐가 차도 버리지 않는다.
+     */
+    public void publish(String roomId, String event, Object payload) {
+        enqueue(roomId, event, payload);
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    private void enqueue(String roomId, String event, Object payload) {
+        queue.offer(new StreamEvent(roomId, event, payload, System.nanoTime()));
+        depth.incrementAndGet();
+        // 소비 스레드는 parked를 켠 뒤 큐를 다시 확인하므로 깨우기를 놓치지 않는다
+        if (parked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        List<StreamEvent> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            StreamEvent event;
+            while (batch.size() < maxBatch && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                parked = true;
+                if (running && queue.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                parked = false;
+                continue;
+            }
+            depth.addAndGet(-batch.size());
+            try {
+                dispatch(batch);
+            } catch (Exception e) {
+                // 소비 스레드가 죽지 않도록 배치 단위로 격리
+                log.error("AI stream bus batch failed - events: {}", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    // 채팅방별로 묶어 BroadcastOperations 조회를 배치당 한 번으로 줄임 (방 안의 순서는 유지)
+    private void dispatch(List<StreamEvent> batch) {
+        batchSize.record(batch.size());
+        Map<String, List<StreamEvent>> byRoom = new LinkedHashMap<>();
+        for (StreamEvent event : batch) {
+            byRoom.computeIfAbsent(event.roomId(), key -> new ArrayList<>()).add(event);
+        }
+
+        long now = System.nanoTime();
+        byRoom.forEach((roomId, events) -> {
+            BroadcastOperations roomOperations = socketIOServer.getRoomOperations(roomId);
+            for (StreamEvent event : events) {
+                try {
+                    roomOperations.sendEvent(event.name(), event.payload());
+                } catch (Exception e) {
+                    log.error("AI stream event dispatch failed - roomId: {}, event: {}", roomId, event.name(), e);
+                }
+                dispatchDelay.record(now - event.enqueuedAt(), TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private record StreamEvent(String roomId, String name, Object payload, long enqueuedAt) {
+    }
+}
@@ -1,49 +1,150 @@
 package com.ktb.chatapp.websocket.socketio.ai;
 
-import com.ktb.chatapp.event.AiMessageChunkEvent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
 import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.springframework.context.ApplicationEventPublisher;
 
+/**
+ * AI 스트림 구독자
+ * 제한된 demand(prefetch)로 토큰을 받아 frame-interval-ms 또는 frame-max-chars 단위 프레임으로 묶어 발행한다.
+ * 프레임의 isCodeBlock은 마지막 청크 이후의 코드 블록 상태이므로 프레임 경계와 무관하게 누적 상태와 같다.
+ * 쓰기 버퍼가 밀린 채팅방은 AiStreamPacer가 프레임 간격을 늘리고, 묶인 내용이 max-buffered-chars를 넘으면
+ * 다음 프레임을 보낼 때까지 upstream 요청을 멈춘다.
+ * 프레임은 AiStreamEventBus로 보내고, 완료/에러는 Spring 이벤트로 발행한다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class AiStreamHandler implements Subscriber<ChunkData> {
     private final StreamingSession session;
     private final ApplicationEventPublisher eventPublisher;
+    private final AiStreamPacer pacer;
+    private final AiStreamEventBus eventBus;
     private Subscription subscription;
 
+    // 아직 발행하지 않은 프레임
+    private final StringBuilder frame = new StringBuilder();
+    private int frameTokens;
+    private boolean frameCodeBlock;
+    private ScheduledFuture<?> flushTask;
+    // 요청했지만 아직 받지 않은 청크 수
+    private long outstanding;
+    private boolean terminated;
+    // pacer의 채팅방 상태를 참조 중인지 (종료 경로가 여러 번 불려도 한 번만 놓는다)
+    private boolean acquired;
+
     @Override
     public void onSubscribe(Subscription subscription) {
-        this.subscription = subscription;
-        subscription.request(Long.MAX_VALUE);
+        synchronized (this) {
+            if (terminated) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            outstanding = pacer.getPrefetch();
+            pacer.acquire(session.getRoomId());
+            acquired = true;
+        }
+        subscription.request(pacer.getPrefetch());
     }
 
     @Override
     public void onNext(ChunkData chunk) {
-        session.appendContent(chunk.currentChunk());
-        
-        String messageId = session.getMessageId();
         String roomId = session.getRoomId();
         if (roomId == null) {
-            log.warn("Room id missing while processing AI chunk - messageId: {}", messageId);
+            log.warn("Room id missing while processing AI chunk - messageId: {}", session.getMessageId());
             return;
         }
 
-        eventPublisher.publishEvent(new AiMessageChunkEvent(
-            this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
-        ));
+        synchronized (this) {
+            // cancel/완료 이후 늦게 도착한 청크는 버린다
+            if (terminated) {
+                return;
+            }
+            outstanding--;
+            frame.append(chunk.currentChunk());
+            frameTokens++;
+            frameCodeBlock = chunk.codeBlock();
+
+            // 밀린 채팅방에는 크기 기준 flush를 하지 않고 늘어난 간격으로만 보낸다
+            if (frame.length() >= pacer.getFrameMaxChars() && !pacer.isBackedOff(roomId)) {
+                flushFrame();
+            } else if (flushTask == null) {
+                flushTask = pacer.schedule(this::flushScheduled, pacer.currentInterval(roomId));
+            }
+            requestMore();
+        }
+    }
+
+    private synchronized void flushScheduled() {
+        flushTask = null;
+        if (terminated) {
+            return;
+        }
+        flushFrame();
+        requestMore();
+    }
+
+    // 호출 측에서 this로 동기화
+    private void flushFrame() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (frame.isEmpty()) {
+            return;
+        }
+        String delta = frame.toString();
+        long seq = session.appendContent(delta);
+        pacer.recordFrame(frameTokens);
+        frame.setLength(0);
+        frameTokens = 0;
+
+        eventBus.chunk(session.getRoomId(), session.getMessageId(), delta, seq, frameCodeBlock);
+    }
+
+    // 받은 만큼 다시 요청하되, 보내지 못한 프레임이 크면 다음 flush까지 멈춘다
+    private void requestMore() {
+        if (subscription == null || terminated) {
+            return;
+        }
+        if (frame.length() >= pacer.getMaxBufferedChars()) {
+            if (outstanding == 0) {
+                pacer.recordPaused();
+            }
+            return;
+        }
+        long missing = pacer.getPrefetch() - outstanding;
+        if (missing >= Math.max(1, pacer.getPrefetch() / 2)) {
+            outstanding += missing;
+            subscription.request(missing);
+        }
+    }
+
+    private synchronized void terminate() {
+        terminated = true;
+        flushFrame();
+        releasePacer();
+    }
+
+    // 호출 측에서 this로 동기화
+    private void releasePacer() {
+        if (acquired) {
+            acquired = false;
+            pacer.release(session.getRoomId());
+        }
     }
 
     @Override
     public void onError(Throwable error) {
         String messageId = session.getMessageId();
+        terminate();
         log.error("AI streaming error for messageId: {}", messageId, error);
 
         String errorMessage = error.getMessage() != null
@@ -57,6 +158,7 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
         String messageId = session.getMessageId();
 
         try {
+            terminate();
             sendCompletionEvent();
             log.debug("AI streaming completed for messageId: {}", messageId);
         } catch (Exception e) {
@@ -71,8 +173,18 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
     }
 
     public void cancel() {
-        if (subscription != null) {
-            subscription.cancel();
+        Subscription current;
+        synchronized (this) {
+            terminated = true;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            current = subscription;
+            releasePacer();
+        }
+        if (current != null) {
+            current.cancel();
         }
     }
 
@@ -0,0 +1,157 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 스트림 프레임 조절기
+ * 토큰을 frame-interval-ms 또는 frame-max-chars 단위로 묶는 설정과 flush 타이머를 제공하고,
+ * 채팅방 소켓의 쓰기 버퍼가 밀리면(isWritable=false) 프레임 간격을 늘려 느린 클라이언트로의 전송을 줄인다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamPacer {
+
+    // 채팅방 쓰기 가능 여부를 다시 확인하는 최소 간격
+    private static final long PRESSURE_CHECK_INTERVAL_MS = 200;
+
+    private final SocketIOServer socketIOServer;
+    private final TaskScheduler taskScheduler;
+    private final Counter frameCounter;
+    private final Counter pausedCounter;
+    private final DistributionSummary tokensPerFrame;
+
+    private final ConcurrentHashMap<String, RoomPressure> pressures = new ConcurrentHashMap<>();
+
+    @Getter
+    @Value("${chatapp.ai.stream.frame-interval-ms:50}")
+    private long frameIntervalMs = 50;
+
+    @Value("${chatapp.ai.stream.max-frame-interval-ms:800}")
+    private long maxFrameIntervalMs = 800;
+
+    @Getter
+    @Value("${chatapp.ai.stream.frame-max-chars:256}")
+    private int frameMaxChars = 256;
+
+    @Getter
+    @Value("${chatapp.ai.stream.prefetch:32}")
+    private int prefetch = 32;
+
+    @Getter
+    @Value("${chatapp.ai.stream.max-buffered-chars:8192}")
+    private int maxBufferedChars = 8192;
+
+    public AiStreamPacer(SocketIOServer socketIOServer, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.taskScheduler = taskScheduler;
+        this.frameCounter = Counter.builder("ai.stream.frames")
+                .description("AI stream frames published")
+                .register(meterRegistry);
+        this.pausedCounter = Counter.builder("ai.stream.demand_paused")
+                .description("AI stream upstream demand paused due to buffered frame size")
+                .register(meterRegistry);
+        this.tokensPerFrame = DistributionSummary.builder("ai.stream.frame.tokens")
+                .description("Tokens coalesced into one AI stream frame")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 채팅방의 현재 프레임 간격. 쓰기 버퍼가 밀린 소켓이 있으면 두 배씩(최대 max-frame-interval-ms) 늘리고,
+     * 모두 쓰기 가능하면 기본 간격으로 되돌린다.
+     */
+    public long currentInterval(String roomId) {
+        // 방 상태는 acquire에서만 만든다 (종료 후 늦게 도착한 호출이 상태를 되살리지 않도록)
+        RoomPressure pressure = pressures.get(roomId);
+        if (pressure == null) {
+            return frameIntervalMs;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (pressure) {
+            if (now - pressure.checkedAt >= PRESSURE_CHECK_INTERVAL_MS) {
+                pressure.checkedAt = now;
+                pressure.interval = congested(roomId)
+                        ? Math.min(pressure.interval * 2, maxFrameIntervalMs)
+                        : frameIntervalMs;
+            }
+            return pressure.interval;
+        }
+    }
+
+    public boolean isBackedOff(String roomId) {
+        RoomPressure pressure = pressures.get(roomId);
+        return pressure != null && pressure.interval > frameIntervalMs;
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return taskScheduler.schedule(task, Instant.now().plusMillis(delayMs));
+    }
+
+    /**
+     * 스트림 시작 시 채팅방 상태를 참조한다. 같은 방의 스트림들은 하나의 상태(늘어난 간격)를 공유한다.
+     */
+    public void acquire(String roomId) {
+        if (roomId != null) {
+            pressures.compute(roomId, (key, pressure) -> {
+                RoomPressure target = pressure != null ? pressure : new RoomPressure(frameIntervalMs);
+                target.streams++;
+                return target;
+            });
+        }
+    }
+
+    /**
+     * 스트림 종료 시 참조를 놓고, 방의 마지막 스트림이면 상태를 정리한다.
+     */
+    public void release(String roomId) {
+        if (roomId != null) {
+            pressures.computeIfPresent(roomId, (key, pressure) -> --pressure.streams > 0 ? pressure : null);
+        }
+    }
+
+    int trackedRooms() {
+        return pressures.size();
+    }
+
+    void recordFrame(int tokens) {
+        frameCounter.increment();
+        tokensPerFrame.record(tokens);
+    }
+
+    void recordPaused() {
+        pausedCounter.increment();
+    }
+
+    private boolean congested(String roomId) {
+        for (SocketIOClient client : socketIOServer.getRoomOperations(roomId).getClients()) {
+            if (client.isChannelOpen() && !client.isWritable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RoomPressure {
+        private long interval;
+        private long checkedAt;
+        // 이 방에서 진행 중인 스트림 수 (pressures의 compute 안에서만 변경)
+        private int streams;
+
+        private RoomPressure(long interval) {
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * 부하/지연 테스트용 로컬 ChatModel (ai-stub 프로필)
+ * OpenAI 호출 없이 합성 토큰을 정해진 속도로 스트리밍한다.
+ * 같은 프롬프트는 항상 같은 응답 길이/내용/에러 여부를 가지므로 실행 간 결과를 비교할 수 있다.
+ * 토큰 수는 평균/표준편차를 가진 정규분포를 [1, max]로 자른 값이다.
+ */
+@Component
+@Profile("ai-stub")
+public class StubChatModel implements ChatModel {
+
+    private static final String[] WORDS = {"안녕하세요", "채팅", "서버", "부하", "테스트", "응답", "입니다",
+            "스트리밍", "토큰", "the", "load", "test", "stream", "latency", "목록", "방", "메시지", "."};
+
+    @Value("${chatapp.ai.stub.tokens-per-second:40}")
+    private int tokensPerSecond = 40;
+
+    @Value("${chatapp.ai.stub.first-token-latency-ms:300}")
+    private long firstTokenLatencyMs = 300;
+
+    // 첫 토큰 지연에 더해지는 [0, jitter) 범위의 값
+    @Value("${chatapp.ai.stub.first-token-jitter-ms:200}")
+    private long firstTokenJitterMs = 200;
+
+    @Value("${chatapp.ai.stub.answer-tokens-mean:150}")
+    private int answerTokensMean = 150;
+
+    @Value("${chatapp.ai.stub.answer-tokens-stddev:60}")
+    private int answerTokensStddev = 60;
+
+    @Value("${chatapp.ai.stub.answer-tokens-max:1024}")
+    private int answerTokensMax = 1024;
+
+    // 응답 도중 에러로 끝나는 비율 (0.0 ~ 1.0)
+    @Value("${chatapp.ai.stub.error-rate:0.0}")
+    private double errorRate = 0.0;
+
+    @Value("${chatapp.ai.stub.seed:42}")
+    private long seed = 42;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Answer answer = answerFor(prompt);
+        if (answer.failAt() >= 0) {
+            throw new IllegalStateException("Stub model error");
+        }
+        return response(String.join("", answer.tokens()));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Answer answer = answerFor(prompt);
+            int emitted = answer.failAt() >= 0 ? answer.failAt() : answer.tokens().size();
+            Duration interval = Duration.ofNanos(1_000_000_000L / Math.max(1, tokensPerSecond));
+
+            // 실제 HTTP 스트림처럼 구독자가 요청하지 않은 토큰은 버퍼에 쌓아 둔다
+            Flux<ChatResponse> tokens = Flux.interval(Duration.ofMillis(answer.firstTokenDelayMs()), interval)
+                    .onBackpressureBuffer()
+                    .take(emitted)
+                    .map(index -> response(answer.tokens().get(index.intValue())));
+            return answer.failAt() >= 0
+                    ? tokens.concatWith(Flux.error(new IllegalStateException("Stub model error")))
+                    : tokens;
+        });
+    }
+
+    private Answer answerFor(Prompt prompt) {
+        SplittableRandom random = new SplittableRandom(seed ^ prompt.getContents().hashCode());
+        int length = (int) Math.round(answerTokensMean + random.nextGaussian() * answerTokensStddev);
+        length = Math.clamp(length, 1, Math.max(1, answerTokensMax));
+
+        List<String> tokens = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            tokens.add(i == 0 || ".".equals(word) ? word : " " + word);
+        }
+
+        int failAt = random.nextDouble() < errorRate ? random.nextInt(length) : -1;
+        long jitter = firstTokenJitterMs > 0 ? (long) (random.nextDouble() * firstTokenJitterMs) : 0;
+        return new Answer(tokens, failAt, firstTokenLatencyMs + jitter);
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    /**
+     * @param failAt 이 인덱스의 토큰 대신 에러를 보냄 (-1이면 정상 완료)
+     */
+    private record Answer(List<String> tokens, int failAt, long firstTokenDelayMs) {
+    }
+}
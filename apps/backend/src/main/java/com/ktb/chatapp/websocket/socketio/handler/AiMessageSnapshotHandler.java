@@ -0,0 +1,50 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.AiMessageSnapshotRequest;
+import com.ktb.chatapp.websocket.socketio.ai.ActiveStreamRegistry;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * AI 스트리밍 전체 내용 요청 핸들러
+ * 청크는 delta만 전송하므로, 순번이 끊긴 클라이언트에게만 요청 시점의 전체 내용과 seq를 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AiMessageSnapshotHandler {
+
+    private final ActiveStreamRegistry activeStreamRegistry;
+
+    @OnEvent(AI_MESSAGE_SNAPSHOT)
+    public void handleSnapshot(SocketIOClient client, AiMessageSnapshotRequest request) {
+        if (client.get("user") == null) {
+            client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
+            return;
+        }
+        if (request == null || request.messageId() == null) {
+            return;
+        }
+
+        activeStreamRegistry.find(request.messageId())
+                // 입장한 채팅방의 스트림만 허용
+                .filter(session -> client.getAllRooms().contains(session.getRoomId()))
+                .ifPresentOrElse(session -> {
+                    StreamingSession.Snapshot snapshot = session.snapshot();
+                    client.sendEvent(AI_MESSAGE_SNAPSHOT, Map.of(
+                            "messageId", session.getMessageId(),
+                            "content", snapshot.content(),
+                            "seq", snapshot.seq()
+                    ));
+                }, () -> log.debug("AI snapshot requested for inactive stream - messageId: {}",
+                        request.messageId()));
+    }
+}
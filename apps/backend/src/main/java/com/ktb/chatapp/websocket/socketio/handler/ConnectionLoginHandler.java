@@ -31,20 +31,20 @@ public class ConnectionLoginHandler {
     private final SocketIOServer socketIOServer;
     private final ConnectedUsers connectedUsers;
     private final UserRooms userRooms;
-    private final RoomJoinHandler roomJoinHandler;
+    private final RoomRejoinHandler roomRejoinHandler;
     private final RoomLeaveHandler roomLeaveHandler;
 
     public ConnectionLoginHandler(
             SocketIOServer socketIOServer,
             ConnectedUsers connectedUsers,
             UserRooms userRooms,
-            RoomJoinHandler roomJoinHandler,
+            RoomRejoinHandler roomRejoinHandler,
             RoomLeaveHandler roomLeaveHandler,
             MeterRegistry meterRegistry) {
         this.socketIOServer = socketIOServer;
         this.connectedUsers = connectedUsers;
         this.userRooms = userRooms;
-        this.roomJoinHandler = roomJoinHandler;
+        this.roomRejoinHandler = roomRejoinHandler;
         this.roomLeaveHandler = roomLeaveHandler;
 
         // Register gauge metric for concurrent users
@@ -63,10 +63,8 @@ public class ConnectionLoginHandler {
             notifyDuplicateLogin(client, userId);
             client.set("user", user);
             
-            userRooms.get(userId).forEach(roomId -> {
-                // 재접속 시 기존 참여 방 재입장 처리
-                roomJoinHandler.handleJoinRoom(client, roomId);
-            });
+            // 재접속 시 기존 참여 방 일괄 재입장 처리
+            roomRejoinHandler.rejoinRooms(client, userId);
             
             connectedUsers.set(userId, user);
 
@@ -2,18 +2,30 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageReactionResponse;
 import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
 import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.ReadReceiptAggregator;
 import jakarta.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,9 +43,13 @@ public class MessageLoader {
     private final UserRepository userRepository;
     private final MessageResponseMapper messageResponseMapper;
     private final MessageReadStatusService messageReadStatusService;
+    private final ReadReceiptAggregator readReceiptAggregator;
 
     private static final int BATCH_SIZE = 30;
 
+    @Value("${chatapp.room-sync.max-messages:100}")
+    private int syncMaxMessages;
+
     /**
      * 메시지 로드
      */
@@ -64,14 +80,18 @@ public class MessageLoader {
         // DESC로 조회했으므로 ASC로 재정렬 (채팅 UI 표시 순서)
         List<Message> sortedMessages = messages.reversed();
         
-        var messageIds = sortedMessages.stream().map(Message::getId).toList();
-        messageReadStatusService.updateReadStatus(messageIds, userId);
+        // 읽음 위치 저장은 응답 경로에서 분리하여 aggregator가 병합 후 flush
+        readReceiptAggregator.submit(userId, sortedMessages);
+        
+        // 읽음 정보는 채팅방 읽음 위치로부터 파생 (아직 flush 전인 본인 위치 반영)
+        var watermarks = withOwnPosition(
+                messageReadStatusService.findWatermarks(roomId), userId, sortedMessages);
         
         // 메시지 응답 생성
         List<MessageResponse> messageResponses = sortedMessages.stream()
                 .map(message -> {
                     var user = findUserById(message.getSenderId());
-                    return messageResponseMapper.mapToMessageResponse(message, user);
+                    return messageResponseMapper.mapToMessageResponse(message, user, watermarks);
                 })
                 .collect(Collectors.toList());
 
@@ -86,6 +106,137 @@ public class MessageLoader {
                 .build();
     }
 
+    /**
+     * 재접속 동기화
+     * 클라이언트가 마지막으로 본 메시지 이후의 새 메시지와 since 이후의 리액션/읽음 변경분만 반환한다.
+     * 커서가 저장되지 않은 메시지(ephemeral 시스템 알림 등)이면 since를 시각 커서로 사용한다.
+     * 커서도 since도 쓸 수 없거나 변경분이 상한을 넘으면 fullReload를 반환한다.
+     */
+    public SyncRoomResponse syncRoom(SyncRoomRequest data, String userId) {
+        String roomId = data.roomId();
+        LocalDateTime syncedAt = LocalDateTime.now();
+        long syncedAtMillis = toMillis(syncedAt);
+
+        String lastMessageId = data.lastMessageId();
+        Message cursor = lastMessageId != null && !Message.isEphemeralId(lastMessageId)
+                ? messageRepository.findById(lastMessageId).orElse(null)
+                : null;
+        if (cursor != null && (cursor.getTimestamp() == null || !roomId.equals(cursor.getRoomId()))) {
+            return SyncRoomResponse.fullReload(roomId, syncedAtMillis);
+        }
+        // 저장된 커서가 없으면 since 이후를 모두 보낸다 (중복은 클라이언트가 ID로 제거)
+        String cursorId = cursor != null ? cursor.getId() : null;
+        LocalDateTime cursorTime = cursor != null ? cursor.getTimestamp() : data.since(null);
+        if (cursorTime == null) {
+            return SyncRoomResponse.fullReload(roomId, syncedAtMillis);
+        }
+
+        int limit = data.limit(syncMaxMessages, syncMaxMessages);
+
+        // 같은 timestamp의 메시지를 놓치지 않도록 커서 시각을 포함해 조회하고 커서 메시지만 제외
+        List<Message> newer = messageRepository.findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(
+                        roomId, false, cursorTime,
+                        PageRequest.of(0, limit + 2, Sort.by("timestamp").ascending()))
+                .stream()
+                .filter(message -> !message.getId().equals(cursorId))
+                .toList();
+        if (newer.size() > limit) {
+            log.debug("Room sync gap too large - roomId: {}, cursor: {}", roomId, lastMessageId);
+            return SyncRoomResponse.fullReload(roomId, syncedAtMillis);
+        }
+
+        LocalDateTime since = data.since(cursorTime);
+        List<Message> reactionChanges = messageRepository.findReactionChanges(
+                roomId, since, cursorTime, PageRequest.of(0, limit + 1));
+        if (reactionChanges.size() > limit) {
+            return SyncRoomResponse.fullReload(roomId, syncedAtMillis);
+        }
+
+        readReceiptAggregator.submit(userId, newer);
+        var watermarks = withOwnPosition(messageReadStatusService.findWatermarks(roomId), userId, newer);
+        Map<String, User> senders = findUsersByIds(newer);
+
+        List<MessageResponse> messageResponses = newer.stream()
+                .map(message -> messageResponseMapper.mapToMessageResponse(
+                        message, senders.get(message.getSenderId()), watermarks))
+                .toList();
+
+        List<MessageReactionResponse> reactions = reactionChanges.stream()
+                .map(message -> new MessageReactionResponse(message.getId(), message.getReactions()))
+                .toList();
+
+        List<SyncRoomResponse.ReadPosition> reads = watermarks.stream()
+                .filter(watermark -> watermark.getLastReadTimestamp() != null)
+                .filter(watermark -> watermark.getUpdatedAt() == null || watermark.getUpdatedAt().isAfter(since))
+                .map(watermark -> new SyncRoomResponse.ReadPosition(
+                        watermark.getUserId(),
+                        watermark.getLastReadMessageId(),
+                        toMillis(watermark.getLastReadTimestamp())))
+                .toList();
+
+        log.debug("Room synced - roomId: {}, messages: {}, reactions: {}, reads: {}",
+                roomId, messageResponses.size(), reactions.size(), reads.size());
+
+        return SyncRoomResponse.builder()
+                .roomId(roomId)
+                .fullReload(false)
+                .messages(messageResponses)
+                .reactions(reactions)
+                .reads(reads)
+                .syncedAt(syncedAtMillis)
+                .build();
+    }
+
+    private Map<String, User> findUsersByIds(List<Message> messages) {
+        List<String> senderIds = messages.stream()
+                .map(Message::getSenderId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (senderIds.isEmpty()) {
+            // AI 메시지의 null senderId 조회를 허용하도록 Map.of() 대신 사용
+            return Collections.emptyMap();
+        }
+        return userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private List<RoomReadWatermark> withOwnPosition(
+            List<RoomReadWatermark> watermarks, String userId, List<Message> messages) {
+        if (messages.isEmpty() || userId == null) {
+            return watermarks;
+        }
+        Message latest = messages.getLast();
+        List<RoomReadWatermark> merged = new ArrayList<>(watermarks.size() + 1);
+        boolean found = false;
+        for (RoomReadWatermark watermark : watermarks) {
+            if (userId.equals(watermark.getUserId())) {
+                found = true;
+                if (!watermark.hasRead(latest.getTimestamp())) {
+                    watermark = watermark.toBuilder()
+                            .lastReadMessageId(latest.getId())
+                            .lastReadTimestamp(latest.getTimestamp())
+                            .build();
+                }
+            }
+            merged.add(watermark);
+        }
+        if (!found) {
+            merged.add(RoomReadWatermark.builder()
+                    .roomId(latest.getRoomId())
+                    .userId(userId)
+                    .lastReadMessageId(latest.getId())
+                    .lastReadTimestamp(latest.getTimestamp())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        return merged;
+    }
+
     /**
      * AI 경우 null 반환 가능
      */
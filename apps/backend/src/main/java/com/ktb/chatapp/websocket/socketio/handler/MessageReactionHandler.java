@@ -38,6 +38,11 @@ public class MessageReactionHandler {
                 return;
             }
 
+            if (Message.isEphemeralId(data.getMessageId())) {
+                client.sendEvent(ERROR, Map.of("message", "시스템 알림에는 리액션을 남길 수 없습니다."));
+                return;
+            }
+
             Message message = messageRepository.findById(data.getMessageId()).orElse(null);
             if (message == null) {
                 client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
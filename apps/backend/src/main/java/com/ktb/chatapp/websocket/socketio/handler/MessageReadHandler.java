@@ -1,18 +1,12 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MarkAsReadRequest;
-import com.ktb.chatapp.dto.MessagesReadResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.ReadReceiptAggregator;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +17,8 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
 /**
  * 메시지 읽음 상태 처리 핸들러
- * 메시지 읽음 상태 업데이트 및 브로드캐스트 담당
+ * 요청 경로에서는 I/O 없이 ReadReceiptAggregator에 적재만 하고,
+ * 저장과 MESSAGES_READ 브로드캐스트는 aggregator의 flush 주기에 병합되어 처리된다.
  */
 @Slf4j
 @Component
@@ -31,11 +26,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageReadHandler {
     
-    private final SocketIOServer socketIOServer;
-    private final MessageReadStatusService messageReadStatusService;
-    private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final ReadReceiptAggregator readReceiptAggregator;
     
     @OnEvent(MARK_MESSAGES_AS_READ)
     public void handleMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
@@ -50,33 +41,13 @@ public class MessageReadHandler {
                 return;
             }
             
-            String roomId = messageRepository.findById(data.getMessageIds().getFirst())
-                    .map(Message::getRoomId).orElse(null);
-            
-            if (roomId == null || roomId.isBlank()) {
-                client.sendEvent(ERROR, Map.of("message", "Invalid room"));
-                return;
-            }
-
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null) {
-                client.sendEvent(ERROR, Map.of("message", "User not found"));
-                return;
-            }
-
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(userId)) {
-                client.sendEvent(ERROR, Map.of("message", "Room access denied"));
-                return;
-            }
-            
-            messageReadStatusService.updateReadStatus(data.getMessageIds(), userId);
-
-            MessagesReadResponse response = new MessagesReadResponse(userId, data.getMessageIds());
+            // 저장되지 않는 시스템 알림은 읽음 위치가 될 수 없으므로 제외
+            List<String> messageIds = data.getMessageIds().stream()
+                    .filter(id -> !Message.isEphemeralId(id))
+                    .toList();
 
-            // Broadcast to room
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGES_READ, response);
+            // 접근 권한은 소켓이 입장한 채팅방 기준으로 flush 시점에 검증
+            readReceiptAggregator.submit(userId, messageIds, client.getAllRooms());
 
         } catch (Exception e) {
             log.error("Error handling markMessagesAsRead", e);
@@ -88,6 +59,6 @@ public class MessageReadHandler {
     
     private String getUserId(SocketIOClient client) {
         var user = (SocketUser) client.get("user");
-        return user.id();
+        return user != null ? user.id() : null;
     }
 }
@@ -4,10 +4,12 @@ import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +34,21 @@ public class MessageResponseMapper {
      * @return MessageResponse DTO
      */
     public MessageResponse mapToMessageResponse(Message message, User sender) {
+        return mapToMessageResponse(message, sender, List.of());
+    }
+
+    /**
+     * Message 엔티티를 MessageResponse DTO로 변환
+     * 읽음 정보는 채팅방의 읽음 위치(watermark)로부터 파생한다.
+     *
+     * @param message 변환할 메시지 엔티티
+     * @param sender 메시지 발신자 정보 (null 가능)
+     * @param watermarks 채팅방 사용자별 읽음 위치
+     * @return MessageResponse DTO
+     */
+    public MessageResponse mapToMessageResponse(Message message, User sender, List<RoomReadWatermark> watermarks) {
+        List<Message.MessageReader> readers = readersOf(message, watermarks);
+
         MessageResponse.MessageResponseBuilder builder = MessageResponse.builder()
                 .id(message.getId())
                 .content(message.getContent())
@@ -40,8 +57,8 @@ public class MessageResponseMapper {
                 .roomId(message.getRoomId())
                 .reactions(message.getReactions() != null ?
                         message.getReactions() : new HashMap<>())
-                .readers(message.getReaders() != null ?
-                        message.getReaders() : new ArrayList<>());
+                .readers(readers)
+                .readCount(readers.size());
 
         // 발신자 정보 설정
         if (sender != null) {
@@ -72,4 +89,18 @@ public class MessageResponseMapper {
 
         return builder.build();
     }
+
+    private List<Message.MessageReader> readersOf(Message message, List<RoomReadWatermark> watermarks) {
+        if (watermarks == null || watermarks.isEmpty()) {
+            return List.of();
+        }
+        return watermarks.stream()
+                .filter(Objects::nonNull)
+                .filter(watermark -> watermark.hasRead(message.getTimestamp()))
+                .map(watermark -> Message.MessageReader.builder()
+                        .userId(watermark.getUserId())
+                        .readAt(watermark.getUpdatedAt())
+                        .build())
+                .toList();
+    }
 }
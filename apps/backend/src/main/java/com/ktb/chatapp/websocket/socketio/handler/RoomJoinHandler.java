@@ -1,25 +1,25 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
 import com.ktb.chatapp.dto.UserResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
 import com.ktb.chatapp.model.Room;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.websocket.socketio.ParticipantProfileCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.SystemMessagePublisher;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
-import java.time.LocalDateTime;
+import com.ktb.chatapp.websocket.socketio.ai.ActiveStreamRegistry;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
@@ -27,6 +27,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 /**
  * 방 입장 처리 핸들러
  * 채팅방 입장, 참가자 관리, 초기 메시지 로드 담당
+ * 참가자 목록 브로드캐스트는 RoomParticipantsChangedEvent를 받은 ParticipantsPublisher가 주기마다 묶어서 보낸다.
  */
 @Slf4j
 @Component
@@ -34,14 +35,16 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class RoomJoinHandler {
 
-    private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final UserRooms userRooms;
     private final MessageLoader messageLoader;
-    private final MessageResponseMapper messageResponseMapper;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomListSubscriptionHandler roomListSubscriptionHandler;
+    private final ParticipantProfileCache participantProfileCache;
+    private final SystemMessagePublisher systemMessagePublisher;
+    private final ActiveStreamRegistry activeStreamRegistry;
 
     @OnEvent(JOIN_ROOM)
     public void handleJoinRoom(SocketIOClient client, String roomId) {
@@ -68,30 +71,21 @@ public class RoomJoinHandler {
             if (userRooms.isInRoom(userId, roomId)) {
                 log.debug("User {} already in room {}", userId, roomId);
                 client.joinRoom(roomId);
-                client.sendEvent(JOIN_ROOM_SUCCESS, Map.of("roomId", roomId));
+                roomListSubscriptionHandler.onChatRoomJoined(client);
+                client.sendEvent(JOIN_ROOM_SUCCESS, Map.of(
+                        "roomId", roomId,
+                        "activeStreams", activeStreamRegistry.activeStreams(roomId)));
                 return;
             }
 
             // MongoDB의 $addToSet 연산자를 사용한 원자적 업데이트
             roomRepository.addParticipant(roomId, userId);
+            eventPublisher.publishEvent(new RoomParticipantsChangedEvent(this, roomId, userId, true));
 
             // Join socket room and add to user's room set
             client.joinRoom(roomId);
             userRooms.add(userId, roomId);
-
-            Message joinMessage = Message.builder()
-                    .roomId(roomId)
-                    .content(userName + "님이 입장하였습니다.")
-                    .type(MessageType.system)
-                    .timestamp(LocalDateTime.now())
-                    .mentions(new ArrayList<>())
-                    .isDeleted(false)
-                    .reactions(new HashMap<>())
-                    .readers(new ArrayList<>())
-                    .metadata(new HashMap<>())
-                    .build();
-
-            joinMessage = messageRepository.save(joinMessage);
+            roomListSubscriptionHandler.onChatRoomJoined(client);
 
             // 업데이트된 room 다시 조회하여 최신 participantIds 가져오기
             Optional<Room> roomOpt = roomRepository.findById(roomId);
@@ -100,14 +94,8 @@ public class RoomJoinHandler {
                 return;
             }
 
-            // 참가자 정보 조회
-            List<UserResponse> participants = roomOpt.get().getParticipantIds()
-                    .stream()
-                    .map(userRepository::findById)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(UserResponse::from)
-                    .toList();
+            // 참가자 정보 조회 (프로필 캐시, 없는 사용자만 한 번에 조회)
+            List<UserResponse> participants = participantProfileCache.getAll(roomOpt.get().getParticipantIds());
 
             JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
                     .roomId(roomId)
@@ -115,18 +103,14 @@ public class RoomJoinHandler {
                     // 초기 메시지는 fetchPreviousMessages가 담당하도록 비워서 중복 제거
                     .messages(Collections.emptyList())
                     .hasMore(false)
-                    .activeStreams(Collections.emptyList())
+                    // 소켓 room 입장 후 스냅샷을 만들어 이후 청크가 빠지지 않게 함 (중복은 seq로 제거)
+                    .activeStreams(activeStreamRegistry.activeStreams(roomId))
                     .build();
 
             client.sendEvent(JOIN_ROOM_SUCCESS, response);
 
-            // 입장 메시지 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, messageResponseMapper.mapToMessageResponse(joinMessage, null));
-
-            // 참가자 목록 업데이트 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(PARTICIPANTS_UPDATE, participants);
+            // 입장 메시지 (chatapp.system-messages.mode에 따라 저장/비저장/묶음)
+            systemMessagePublisher.userJoined(roomId, userName);
 
             log.info("User {} joined room {} successfully. Initial messages suppressed for duplicate prevention.", userName, roomId);
 
@@ -3,32 +3,27 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
-import com.ktb.chatapp.dto.MessageResponse;
-import com.ktb.chatapp.dto.UserResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.SystemMessagePublisher;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
 /**
  * 방 퇴장 처리 핸들러
- * 채팅방 퇴장, 스트리밍 세션 종료, 참가자 목록 업데이트 담당
+ * 채팅방 퇴장, 스트리밍 세션 종료 담당
+ * 참가자 목록 업데이트는 RoomParticipantsChangedEvent를 받은 ParticipantsPublisher가 주기마다 묶어서 보낸다.
  */
 @Slf4j
 @Component
@@ -37,11 +32,12 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class RoomLeaveHandler {
 
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final UserRooms userRooms;
-    private final MessageResponseMapper messageResponseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomListSubscriptionHandler roomListSubscriptionHandler;
+    private final SystemMessagePublisher systemMessagePublisher;
     
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
@@ -68,16 +64,17 @@ public class RoomLeaveHandler {
             }
             
             roomRepository.removeParticipant(roomId, userId);
+            eventPublisher.publishEvent(new RoomParticipantsChangedEvent(this, roomId, userId, false));
             
             client.leaveRoom(roomId);
             userRooms.remove(userId, roomId);
+            roomListSubscriptionHandler.onChatRoomLeft(client, userId);
             
             log.info("User {} left room {}", userName, room.getName());
             
             log.debug("Leave room cleanup - roomId: {}, userId: {}", roomId, userId);
             
-            sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
-            broadcastParticipantList(roomId);
+            systemMessagePublisher.userLeft(roomId, userName);
             socketIOServer.getRoomOperations(roomId)
                     .sendEvent(USER_LEFT, Map.of(
                             "userId", userId,
@@ -90,53 +87,6 @@ public class RoomLeaveHandler {
         }
     }
     
-    private void sendSystemMessage(String roomId, String content) {
-        try {
-            Message systemMessage = new Message();
-            systemMessage.setRoomId(roomId);
-            systemMessage.setContent(content);
-            systemMessage.setType(MessageType.system);
-            systemMessage.setTimestamp(LocalDateTime.now());
-            systemMessage.setMentions(new ArrayList<>());
-            systemMessage.setIsDeleted(false);
-            systemMessage.setReactions(new HashMap<>());
-            systemMessage.setReaders(new ArrayList<>());
-            systemMessage.setMetadata(new HashMap<>());
-
-            Message savedMessage = messageRepository.save(systemMessage);
-            MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
-
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, response);
-
-        } catch (Exception e) {
-            log.error("Error sending system message", e);
-        }
-    }
-    
-    private void broadcastParticipantList(String roomId) {
-        Optional<Room> roomOpt = roomRepository.findById(roomId);
-        if (roomOpt.isEmpty()) {
-            return;
-        }
-        
-        var participantList = roomOpt.get()
-                .getParticipantIds()
-                .stream()
-                .map(userRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(UserResponse::from)
-                .toList();
-        
-        if (participantList.isEmpty()) {
-            return;
-        }
-        
-        socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participantList);
-    }
-
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
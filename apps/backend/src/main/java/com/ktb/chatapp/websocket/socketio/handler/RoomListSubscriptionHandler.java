@@ -0,0 +1,73 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.RoomListPreferenceRequest;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 채팅방 목록 변경분(room-list) 구독 관리
+ * pauseInRoom을 설정한 클라이언트는 채팅방에 들어가 있는 동안 room-list에서 빠지고,
+ * 마지막 채팅방에서 나오면 다시 구독한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RoomListSubscriptionHandler {
+
+    private static final String ROOM_LIST = "room-list";
+    private static final String PAUSE_IN_ROOM = "roomListPauseInRoom";
+
+    private final UserRooms userRooms;
+
+    @OnEvent(ROOM_LIST_PREFERENCE)
+    public void handlePreference(SocketIOClient client, RoomListPreferenceRequest data) {
+        String userId = getUserId(client);
+        if (userId == null || data == null) {
+            return;
+        }
+
+        client.set(PAUSE_IN_ROOM, data.pauseInRoom());
+        if (data.pauseInRoom() && !userRooms.get(userId).isEmpty()) {
+            client.leaveRoom(ROOM_LIST);
+        } else {
+            client.joinRoom(ROOM_LIST);
+        }
+        log.debug("Room list preference - userId: {}, pauseInRoom: {}", userId, data.pauseInRoom());
+    }
+
+    /**
+     * 채팅방 입장 후 호출
+     */
+    public void onChatRoomJoined(SocketIOClient client) {
+        if (isPaused(client)) {
+            client.leaveRoom(ROOM_LIST);
+        }
+    }
+
+    /**
+     * 채팅방 퇴장 후 호출
+     */
+    public void onChatRoomLeft(SocketIOClient client, String userId) {
+        if (isPaused(client) && userRooms.get(userId).isEmpty()) {
+            client.joinRoom(ROOM_LIST);
+        }
+    }
+
+    private boolean isPaused(SocketIOClient client) {
+        return Boolean.TRUE.equals(client.get(PAUSE_IN_ROOM));
+    }
+
+    private String getUserId(SocketIOClient client) {
+        var user = (SocketUser) client.get("user");
+        return user != null ? user.id() : null;
+    }
+}
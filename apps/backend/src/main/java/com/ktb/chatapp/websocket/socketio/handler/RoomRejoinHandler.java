@@ -0,0 +1,109 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.ActiveStreamRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 재접속 시 기존 참여 방 일괄 재입장
+ * 방마다 handleJoinRoom을 호출하면 방 수만큼 사용자/방을 다시 읽으므로,
+ * 사용자 1회 + 방 $in 1회 조회 후 소켓 room에만 다시 넣는다.
+ * 이미 참여 중인 방이므로 입장 시스템 메시지와 참가자 목록 브로드캐스트는 보내지 않는다.
+ * 진행 중인 AI 스트림은 방마다 activeStreams로 함께 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomRejoinHandler {
+
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final UserRooms userRooms;
+    private final RoomListSubscriptionHandler roomListSubscriptionHandler;
+    private final ActiveStreamRegistry activeStreamRegistry;
+
+    private final Timer rejoinTimer;
+    private final DistributionSummary rejoinRooms;
+    private final Counter staleRooms;
+
+    public RoomRejoinHandler(
+            RoomRepository roomRepository,
+            UserRepository userRepository,
+            UserRooms userRooms,
+            RoomListSubscriptionHandler roomListSubscriptionHandler,
+            ActiveStreamRegistry activeStreamRegistry,
+            MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.userRooms = userRooms;
+        this.roomListSubscriptionHandler = roomListSubscriptionHandler;
+        this.activeStreamRegistry = activeStreamRegistry;
+        this.rejoinTimer = Timer.builder("socketio.rejoin.time")
+                .description("Time to rejoin rooms on reconnect")
+                .register(meterRegistry);
+        this.rejoinRooms = DistributionSummary.builder("socketio.rejoin.rooms")
+                .description("Rooms rejoined per reconnect")
+                .register(meterRegistry);
+        this.staleRooms = Counter.builder("socketio.rejoin.stale_rooms")
+                .description("Rooms dropped on reconnect because the user is no longer a participant")
+                .register(meterRegistry);
+    }
+
+    public void rejoinRooms(SocketIOClient client, String userId) {
+        Set<String> roomIds = userRooms.get(userId);
+        if (roomIds.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            if (!userRepository.existsById(userId)) {
+                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "User not found"));
+                return;
+            }
+
+            Set<String> joined = roomRepository.findJoinedRoomIds(roomIds, userId).stream()
+                    .map(Room::getId)
+                    .collect(Collectors.toSet());
+
+            // 삭제되었거나 더 이상 참여자가 아닌 방은 사용자 방 목록에서 정리
+            if (joined.size() != roomIds.size()) {
+                staleRooms.increment(roomIds.size() - joined.size());
+                userRooms.set(userId, joined);
+            }
+            if (joined.isEmpty()) {
+                return;
+            }
+
+            client.joinRooms(joined);
+            roomListSubscriptionHandler.onChatRoomJoined(client);
+            // 재접속 중에 놓친 AI 스트림은 현재 내용과 seq로 이어 받음
+            joined.forEach(roomId -> client.sendEvent(JOIN_ROOM_SUCCESS, Map.of(
+                    "roomId", roomId,
+                    "activeStreams", activeStreamRegistry.activeStreams(roomId))));
+            rejoinRooms.record(joined.size());
+
+            log.debug("User {} rejoined {} rooms ({} stale)", userId, joined.size(), roomIds.size() - joined.size());
+        } catch (Exception e) {
+            log.error("Error rejoining rooms - userId: {}", userId, e);
+            client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방 재입장에 실패했습니다."));
+        } finally {
+            sample.stop(rejoinTimer);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 재접속 동기화 핸들러
+ * 재접속한 클라이언트가 첫 페이지를 다시 받는 대신 마지막으로 본 메시지 이후의 변경분만 받도록 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RoomSyncHandler {
+
+    private final RoomRepository roomRepository;
+    private final MessageLoader messageLoader;
+
+    @OnEvent(SYNC_ROOM)
+    public void handleSyncRoom(SocketIOClient client, SyncRoomRequest data) {
+        String userId = getUserId(client);
+        if (userId == null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "UNAUTHORIZED",
+                    "message", "인증이 필요합니다."
+            ));
+            return;
+        }
+        if (data == null || data.roomId() == null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SYNC_ERROR",
+                    "message", "채팅방 정보가 없습니다."
+            ));
+            return;
+        }
+
+        try {
+            // 재접속 시 참여 방은 이미 재입장되어 있으므로 소켓 room 기준으로 먼저 확인
+            if (!client.getAllRooms().contains(data.roomId()) && !isParticipant(data.roomId(), userId)) {
+                client.sendEvent(ERROR, Map.of(
+                        "code", "SYNC_ERROR",
+                        "message", "채팅방 접근 권한이 없습니다."
+                ));
+                return;
+            }
+
+            SyncRoomResponse result = messageLoader.syncRoom(data, userId);
+            client.sendEvent(ROOM_SYNCED, result);
+
+        } catch (Exception e) {
+            log.error("Error handling syncRoom", e);
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SYNC_ERROR",
+                    "message", "채팅방 동기화 중 오류가 발생했습니다."
+            ));
+        }
+    }
+
+    private boolean isParticipant(String roomId, String userId) {
+        Room room = roomRepository.findById(roomId).orElse(null);
+        return room != null && room.getParticipantIds().contains(userId);
+    }
+
+    private String getUserId(SocketIOClient client) {
+        var user = (SocketUser) client.get("user");
+        return user != null ? user.id() : null;
+    }
+}
@@ -21,8 +21,11 @@ public class StreamingSession {
     private long timestamp;
     @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
+    // 토큰마다 문자열을 새로 만들지 않도록 builder에 누적
     @Builder.Default
-    private String content = "";
+    private StringBuilder content = new StringBuilder();
+    // 마지막으로 추가된 청크의 순번 (1부터)
+    private long seq;
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,9 +41,30 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    /**
+     * 청크를 누적하고 그 청크의 순번을 반환한다.
+     */
+    public synchronized long appendContent(String contentChunk) {
+        content.append(contentChunk);
         lastUpdate = System.currentTimeMillis();
+        return ++seq;
+    }
+
+    /**
+     * 지금까지 누적된 전체 내용
+     */
+    public synchronized String getContent() {
+        return content.toString();
+    }
+
+    /**
+     * 전체 내용과 그 시점의 순번 (클라이언트 재동기화용)
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(content.toString(), seq);
+    }
+
+    public record Snapshot(String content, long seq) {
     }
     
     public long generationTimeMillis() {
@@ -0,0 +1,45 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import com.corundumstudio.socketio.store.MemoryStore;
+import com.corundumstudio.socketio.store.Store;
+import com.corundumstudio.socketio.store.pubsub.BaseStoreFactory;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클라이언트별 store는 로컬 메모리에, 노드 간 pub/sub만 Redis에 두는 StoreFactory
+ * 소켓은 접속한 노드에만 존재하므로 client.get/set("user") 등은 다른 노드가 읽을 일이 없다.
+ * RedissonStoreFactory는 이를 세션마다 Redis 해시로 두어 매 조회가 왕복이 되고,
+ * 연결이 끊겨도 키가 남는다. 여기서는 클라이언트와 함께 GC되는 MemoryStore를 쓴다.
+ * Redisson 클라이언트는 공용 빈이므로 shutdown 시 닫지 않는다.
+ */
+public class HybridStoreFactory extends BaseStoreFactory {
+
+    private final PubSubStore pubSubStore;
+
+    public HybridStoreFactory(PubSubStore pubSubStore) {
+        this.pubSubStore = pubSubStore;
+    }
+
+    @Override
+    public Store createStore(UUID sessionId) {
+        return new MemoryStore();
+    }
+
+    @Override
+    public PubSubStore pubSubStore() {
+        return pubSubStore;
+    }
+
+    @Override
+    public <K, V> Map<K, V> createMap(String name) {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void shutdown() {
+        pubSubStore.shutdown();
+    }
+}
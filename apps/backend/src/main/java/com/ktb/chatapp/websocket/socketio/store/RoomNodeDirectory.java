@@ -0,0 +1,339 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방별 Socket.IO 소켓을 가진 노드 목록 (room -> nodeId)
+ * 이 노드의 방 참여/퇴장을 세션 단위로 세다가 첫 세션이 들어오거나 마지막 세션이 나갈 때만
+ * Redis set(socketio:room-nodes:{room})을 갱신한다. 갱신은 방별로 순서를 지키는 비동기 호출로 하여
+ * join/leave를 부른 Netty I/O 스레드가 Redis를 기다리지 않는다.
+ * 다른 노드의 목록은 짧은 TTL로 캐시하고 만료되면 비동기로 다시 읽는다. 캐시가 없는 동안은 null을 반환해
+ * 호출 측이 전체 발행으로 대체한다. 다른 노드의 JOIN 메시지를 받으면 그 노드를 목록에 바로 더한다.
+ * 노드는 heartbeat를 남기며, heartbeat가 끊긴 노드는 라우팅 대상에서 빠진다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomNodeDirectory {
+
+    private static final String ROOM_KEY_PREFIX = "socketio:room-nodes:";
+    private static final String NODES_KEY = "socketio:nodes";
+    // 이보다 오래 heartbeat가 없는 노드 항목은 정리
+    private static final Duration NODE_RETENTION = Duration.ofMinutes(10);
+
+    private final RedissonClient redissonClient;
+    private final Clock clock;
+    private final long nodeId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    // 이 노드에서 방에 들어와 있는 세션
+    private final ConcurrentHashMap<String, Set<UUID>> localRooms = new ConcurrentHashMap<>();
+    // Redis 반영에 실패해 heartbeat 때 다시 등록할 방
+    private final Set<String> unsynced = ConcurrentHashMap.newKeySet();
+    // 방별 마지막 Redis 갱신. 다음 갱신은 이전 갱신이 끝난 뒤 시작한다.
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> roomSyncs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedNodes> remoteRooms = new ConcurrentHashMap<>();
+    // 진행 중인 비동기 조회 (방당 하나)
+    private final ConcurrentHashMap<String, Object> loading = new ConcurrentHashMap<>();
+    // JOIN 메시지로 알게 된 노드 (room -> nodeId -> 수신 시각). Redis 등록보다 JOIN이 먼저 도착해도 놓치지 않도록 조회 결과에 합친다.
+    private final ConcurrentHashMap<String, Map<Long, Long>> recentJoins = new ConcurrentHashMap<>();
+    // nodeId -> 마지막 heartbeat (epoch ms), heartbeat 주기마다 갱신
+    private volatile Map<Long, Long> nodeHeartbeats = Map.of();
+
+    private final Counter lookupCounter;
+    private final Counter lookupFailureCounter;
+
+    @Value("${socketio.routing.directory-ttl:PT5S}")
+    private Duration directoryTtl = Duration.ofSeconds(5);
+
+    @Value("${socketio.routing.node-timeout:PT30S}")
+    private Duration nodeTimeout = Duration.ofSeconds(30);
+
+    @Autowired
+    public RoomNodeDirectory(
+            @Qualifier("socketIoRedisClient") RedissonClient redissonClient,
+            MeterRegistry meterRegistry) {
+        this(redissonClient, meterRegistry, Clock.systemUTC());
+    }
+
+    RoomNodeDirectory(RedissonClient redissonClient, MeterRegistry meterRegistry, Clock clock) {
+        this.redissonClient = redissonClient;
+        this.clock = clock;
+        this.lookupCounter = Counter.builder("socketio.routing.lookups")
+                .description("Room node directory reads from Redis")
+                .register(meterRegistry);
+        this.lookupFailureCounter = Counter.builder("socketio.routing.lookup.failures")
+                .description("Room node directory reads that failed and fell back to broadcast")
+                .register(meterRegistry);
+        Gauge.builder("socketio.routing.local.rooms", localRooms, ConcurrentHashMap::size)
+                .description("Rooms with at least one socket on this node")
+                .register(meterRegistry);
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    @PostConstruct
+    public void register() {
+        heartbeat();
+    }
+
+    /**
+     * 종료 시 heartbeat를 0으로 남겨 다른 노드가 바로 라우팅 대상에서 제외하게 한다.
+     * 방 목록의 남은 항목은 다른 노드가 라우팅하면서 정리한다.
+     */
+    @PreDestroy
+    public void deregister() {
+        try {
+            nodes().add(0, String.valueOf(nodeId));
+        } catch (Exception e) {
+            log.debug("Room node directory deregistration failed - nodeId: {}", nodeId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${socketio.routing.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        long now = clock.millis();
+        try {
+            RScoredSortedSet<String> nodes = nodes();
+            nodes.add(now, String.valueOf(nodeId));
+            nodes.removeRangeByScore(0, false, now - NODE_RETENTION.toMillis(), true);
+
+            Map<Long, Long> heartbeats = new HashMap<>();
+            for (ScoredEntry<String> entry : nodes.entryRange(0, -1)) {
+                heartbeats.put(Long.valueOf(entry.getValue()), entry.getScore().longValue());
+            }
+            nodeHeartbeats = heartbeats;
+        } catch (Exception e) {
+            log.warn("Room node directory heartbeat failed - nodeId: {}", nodeId, e);
+            return;
+        }
+
+        for (String room : unsynced) {
+            if (localRooms.containsKey(room)) {
+                sync(room);
+            } else {
+                unsynced.remove(room);
+            }
+        }
+        remoteRooms.values().removeIf(cached -> cached.isExpired(now));
+        long joinCutoff = now - directoryTtl.toMillis();
+        recentJoins.values().forEach(nodes -> nodes.values().removeIf(receivedAt -> receivedAt < joinCutoff));
+        recentJoins.values().removeIf(Map::isEmpty);
+    }
+
+    /**
+     * 이 노드의 세션이 방에 들어옴. 방의 첫 세션이면 Redis에 이 노드를 비동기로 등록한다.
+     */
+    public void join(String room, UUID sessionId) {
+        boolean[] first = {false};
+        localRooms.compute(room, (key, sessions) -> {
+            Set<UUID> target = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            first[0] = target.add(sessionId) && target.size() == 1;
+            return target;
+        });
+        if (first[0]) {
+            sync(room);
+        }
+    }
+
+    public void leave(String room, UUID sessionId) {
+        boolean[] last = {false};
+        localRooms.computeIfPresent(room, (key, sessions) -> {
+            if (!sessions.remove(sessionId) || !sessions.isEmpty()) {
+                return sessions;
+            }
+            last[0] = true;
+            return null;
+        });
+        if (last[0]) {
+            sync(room);
+        }
+    }
+
+    /**
+     * 방의 현재 참여 상태를 Redis에 반영한다.
+     * 이전 갱신이 끝난 뒤 그 시점의 상태를 읽어 반영하므로 join/leave가 뒤바뀐 순서로 남지 않는다.
+     */
+    private void sync(String room) {
+        CompletableFuture<Void> trigger = new CompletableFuture<>();
+        CompletableFuture<Void> next = trigger.thenCompose(ignored -> applyRoomState(room));
+        CompletableFuture<Void> previous = roomSyncs.put(room, next);
+        next.whenComplete((ignored, error) -> roomSyncs.remove(room, next));
+        if (previous == null) {
+            trigger.complete(null);
+        } else {
+            previous.whenComplete((ignored, error) -> trigger.complete(null));
+        }
+    }
+
+    private CompletableFuture<Void> applyRoomState(String room) {
+        boolean present = localRooms.containsKey(room);
+        String self = String.valueOf(nodeId);
+        CompletableFuture<Boolean> update;
+        try {
+            RSet<String> members = roomNodes(room);
+            update = (present ? members.addAsync(self) : members.removeAsync(self)).toCompletableFuture();
+        } catch (Exception e) {
+            update = CompletableFuture.failedFuture(e);
+        }
+        return update.handle((ignored, error) -> {
+            if (error == null) {
+                unsynced.remove(room);
+            } else if (present) {
+                unsynced.add(room);
+                log.warn("Room node directory join failed, retrying on next heartbeat - room: {}", room, error);
+            } else {
+                // 남은 항목은 불필요한 전송만 만들 뿐 유실은 없음
+                log.debug("Room node directory leave failed - room: {}", room, error);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 방에 소켓을 가진 다른 노드. 만료된 목록은 그대로 반환하면서 비동기로 다시 읽는다.
+     * 목록이 없거나 조회에 실패하면 null (호출 측은 전체 발행으로 대체)
+     */
+    public Set<Long> remoteNodes(String room) {
+        CachedNodes cached = remoteRooms.get(room);
+        if (cached == null || cached.isExpired(clock.millis())) {
+            refresh(room);
+        }
+        return cached != null ? cached.nodes() : null;
+    }
+
+    /**
+     * 다른 노드의 JOIN 메시지를 받으면 그 노드를 캐시된 목록에 더한다.
+     */
+    public void remoteJoined(Collection<String> rooms, Long node) {
+        if (node == null || node == nodeId) {
+            return;
+        }
+        long now = clock.millis();
+        for (String room : rooms) {
+            recentJoins.computeIfAbsent(room, key -> new ConcurrentHashMap<>()).put(node, now);
+            remoteRooms.computeIfPresent(room, (key, cached) -> cached.with(node));
+        }
+    }
+
+    /**
+     * heartbeat가 유효한 노드 수 (이 노드 포함)
+     */
+    public int liveNodeCount() {
+        long cutoff = clock.millis() - nodeTimeout.toMillis();
+        int count = 0;
+        for (long lastSeen : nodeHeartbeats.values()) {
+            if (lastSeen >= cutoff) {
+                count++;
+            }
+        }
+        return Math.max(count, 1);
+    }
+
+    int localRoomCount() {
+        return localRooms.size();
+    }
+
+    private void refresh(String room) {
+        Object token = new Object();
+        if (loading.putIfAbsent(room, token) != null) {
+            return;
+        }
+        lookupCounter.increment();
+        try {
+            RSet<String> members = roomNodes(room);
+            members.readAllAsync().whenComplete((read, error) -> {
+                if (error != null) {
+                    loading.remove(room, token);
+                    lookupFailureCounter.increment();
+                    log.debug("Room node directory lookup failed - room: {}", room, error);
+                    return;
+                }
+                CachedNodes cached = new CachedNodes(liveRemoteNodes(room, members, read),
+                        clock.millis() + directoryTtl.toMillis());
+                remoteRooms.put(room, cached);
+                loading.remove(room, token);
+            });
+        } catch (Exception e) {
+            loading.remove(room, token);
+            lookupFailureCounter.increment();
+            log.debug("Room node directory lookup failed - room: {}", room, e);
+        }
+    }
+
+    private Set<Long> liveRemoteNodes(String room, RSet<String> members, Set<String> read) {
+        Set<Long> targets = new HashSet<>();
+        long cutoff = clock.millis() - nodeTimeout.toMillis();
+        Map<Long, Long> heartbeats = nodeHeartbeats;
+        for (String member : read) {
+            long node = Long.parseLong(member);
+            if (node == nodeId) {
+                continue;
+            }
+            Long lastSeen = heartbeats.get(node);
+            // 아직 heartbeat 목록에 없는 노드는 막 시작한 노드일 수 있으므로 포함
+            if (lastSeen == null || lastSeen >= cutoff) {
+                targets.add(node);
+            } else {
+                members.removeAsync(member);
+            }
+        }
+        Map<Long, Long> joined = recentJoins.get(room);
+        if (joined != null) {
+            targets.addAll(joined.keySet());
+        }
+        return Set.copyOf(targets);
+    }
+
+    private RSet<String> roomNodes(String room) {
+        return redissonClient.getSet(ROOM_KEY_PREFIX + room, StringCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<String> nodes() {
+        return redissonClient.getScoredSortedSet(NODES_KEY, StringCodec.INSTANCE);
+    }
+
+    private record CachedNodes(Set<Long> nodes, long expiresAt) {
+
+        CachedNodes with(long node) {
+            if (nodes.contains(node)) {
+                return this;
+            }
+            Set<Long> added = new HashSet<>(nodes);
+            added.add(node);
+            return new CachedNodes(Set.copyOf(added), expiresAt);
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import com.corundumstudio.socketio.store.RedissonPubSubStore;
+import com.corundumstudio.socketio.store.pubsub.BulkJoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubListener;
+import com.corundumstudio.socketio.store.pubsub.PubSubMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+/**
+ * 채팅방 브로드캐스트(DISPATCH)를 그 방에 소켓을 가진 노드에게만 보내는 PubSubStore
+ * RedissonPubSubStore는 모든 DISPATCH를 공용 topic으로 발행해 방과 무관한 노드까지 받게 된다.
+ * 여기서는 노드별 topic(dispatch:{nodeId})을 두고 RoomNodeDirectory가 알려준 노드에만 발행한다.
+ * 네임스페이스 전체 브로드캐스트와 노드 목록이 아직 없거나 조회에 실패한 방은 기존 공용 topic을 그대로 쓴다.
+ * JOIN/LEAVE 등 나머지 메시지는 RedissonPubSubStore에 위임하면서 이 노드의 방 참여를 기록한다.
+ */
+public class RoutedPubSubStore implements PubSubStore {
+
+    private static final String NODE_TOPIC_PREFIX = PubSubType.DISPATCH + ":";
+
+    private final RedissonClient redissonClient;
+    private final RoomNodeDirectory directory;
+    private final PubSubStore delegate;
+    private final Long nodeId;
+
+    private final Counter routedCounter;
+    private final Counter broadcastCounter;
+    private final Counter avoidedCounter;
+
+    private RTopic nodeTopic;
+    private int nodeListenerId = -1;
+
+    public RoutedPubSubStore(RedissonClient redissonClient, RoomNodeDirectory directory, MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.directory = directory;
+        this.nodeId = directory.nodeId();
+        this.delegate = new RedissonPubSubStore(redissonClient, redissonClient, nodeId);
+        this.routedCounter = Counter.builder("socketio.dispatch.published")
+                .tag("mode", "routed")
+                .description("Room dispatch messages published to a single node topic")
+                .register(meterRegistry);
+        this.broadcastCounter = Counter.builder("socketio.dispatch.published")
+                .tag("mode", "broadcast")
+                .description("Room dispatch messages published to every node")
+                .register(meterRegistry);
+        this.avoidedCounter = Counter.builder("socketio.dispatch.avoided")
+                .description("Node deliveries skipped because the node had no socket in the room")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(PubSubType type, PubSubMessage message) {
+        switch (type) {
+            case DISPATCH -> dispatch((DispatchMessage) message);
+            case JOIN -> {
+                JoinLeaveMessage join = (JoinLeaveMessage) message;
+                if (isRoutable(join.getRoom(), join.getNamespace())) {
+                    directory.join(join.getRoom(), join.getSessionId());
+                }
+                delegate.publish(type, message);
+            }
+            case BULK_JOIN -> {
+                BulkJoinLeaveMessage join = (BulkJoinLeaveMessage) message;
+                for (String room : join.getRooms()) {
+                    if (isRoutable(room, join.getNamespace())) {
+                        directory.join(room, join.getSessionId());
+                    }
+                }
+                delegate.publish(type, message);
+            }
+            case LEAVE -> {
+                JoinLeaveMessage leave = (JoinLeaveMessage) message;
+                directory.leave(leave.getRoom(), leave.getSessionId());
+                delegate.publish(type, message);
+            }
+            case BULK_LEAVE -> {
+                BulkJoinLeaveMessage leave = (BulkJoinLeaveMessage) message;
+                leave.getRooms().forEach(room -> directory.leave(room, leave.getSessionId()));
+                delegate.publish(type, message);
+            }
+            default -> delegate.publish(type, message);
+        }
+    }
+
+    @Override
+    public <T extends PubSubMessage> void subscribe(PubSubType type, PubSubListener<T> listener, Class<T> clazz) {
+        switch (type) {
+            case DISPATCH -> {
+                // 공용 topic은 네임스페이스 전체 브로드캐스트와 라우팅 이전 노드의 발행용
+                delegate.subscribe(type, listener, clazz);
+                nodeTopic = redissonClient.getTopic(NODE_TOPIC_PREFIX + nodeId);
+                nodeListenerId = nodeTopic.addListener(clazz, (channel, message) -> listener.onMessage(message));
+            }
+            // 다른 노드가 방에 들어오면 그 노드를 캐시된 목록에 더함 (자기 메시지는 delegate가 거른다)
+            case JOIN -> delegate.subscribe(type, (T message) -> {
+                directory.remoteJoined(List.of(((JoinLeaveMessage) message).getRoom()), message.getNodeId());
+                listener.onMessage(message);
+            }, clazz);
+            case BULK_JOIN -> delegate.subscribe(type, (T message) -> {
+                directory.remoteJoined(((BulkJoinLeaveMessage) message).getRooms(), message.getNodeId());
+                listener.onMessage(message);
+            }, clazz);
+            default -> delegate.subscribe(type, listener, clazz);
+        }
+    }
+
+    @Override
+    public void unsubscribe(PubSubType type) {
+        delegate.unsubscribe(type);
+        if (type == PubSubType.DISPATCH && nodeTopic != null && nodeListenerId != -1) {
+            nodeTopic.removeListener(nodeListenerId);
+            nodeListenerId = -1;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    private void dispatch(DispatchMessage message) {
+        String room = message.getRoom();
+        Set<Long> targets = isRoutable(room, message.getNamespace()) ? directory.remoteNodes(room) : null;
+        if (targets == null) {
+            broadcastCounter.increment();
+            delegate.publish(PubSubType.DISPATCH, message);
+            return;
+        }
+
+        message.setNodeId(nodeId);
+        for (Long target : targets) {
+            redissonClient.getTopic(NODE_TOPIC_PREFIX + target).publish(message);
+        }
+        routedCounter.increment(targets.size());
+        avoidedCounter.increment(Math.max(0, directory.liveNodeCount() - 1 - targets.size()));
+    }
+
+    // 네임스페이스 기본 방(모든 소켓이 들어감)은 라우팅 대상이 아님
+    private static boolean isRoutable(String room, String namespace) {
+        return room != null && !room.isEmpty() && !room.equals(namespace);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ktb.chatapp.config;
+
+import com.corundumstudio.socketio.Transport;
+import com.corundumstudio.socketio.handler.ClientHead;
+import com.corundumstudio.socketio.messages.OutPacketMessage;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class OutboundLimitHandlerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Queue<Packet> packets = new ConcurrentLinkedQueue<>();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundLimitHandler handler;
+    private EmbeddedChannel channel;
+    private ClientHead clientHead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new OutboundLimitHandler(new WriteBufferWaterMark(8, 16), 1 << 20, 5, Duration.ofSeconds(10),
+                Set.of("messagesRead", "aiMessageChunk"), Set.of("participantsUpdate"), meterRegistry, now::get);
+        channel = new EmbeddedChannel(handler);
+        clientHead = mock(ClientHead.class);
+        when(clientHead.getPacketsQueue(Transport.WEBSOCKET)).thenReturn(packets);
+    }
+
+    private static Packet event(String name) {
+        Packet packet = new Packet(PacketType.MESSAGE);
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(name);
+        return packet;
+    }
+
+    private void setWritable(boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+        channel.runPendingTasks();
+    }
+
+    private double shed(String event, String action) {
+        return meterRegistry.get("socketio.outbound.shed").tag("event", event).tag("action", action)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("쓰기 가능: 패킷을 거르지 않고 그대로 인코더로 전달")
+    void writable_passesThrough() {
+        packets.add(event("messagesRead"));
+        OutPacketMessage message = new OutPacketMessage(clientHead, Transport.WEBSOCKET);
+
+        channel.writeAndFlush(message);
+
+        assertThat((Object) channel.readOutbound()).isSameAs(message);
+        assertThat(packets).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("high water mark 초과: 낮은 우선순위는 버리고 참가자 목록은 마지막 것만 남긴 뒤, 쓰기 가능해지면 전송")
+    void unwritable_shedsAndDefers() {
+        Packet message = event("message");
+        Packet latestParticipants = event("participantsUpdate");
+        packets.addAll(List.of(message, event("messagesRead"), event("participantsUpdate"),
+                event("aiMessageChunk"), latestParticipants));
+        setWritable(false);
+
+        OutPacketMessage out = new OutPacketMessage(clientHead, Transport.WEBSOCKET);
+        channel.writeAndFlush(out);
+
+        assertThat((Object) channel.readOutbound()).isNull();
+        assertThat(packets).containsExactly(message, latestParticipants);
+        assertThat(shed("messagesRead", "dropped")).isEqualTo(1);
+        assertThat(shed("aiMessageChunk", "dropped")).isEqualTo(1);
+        assertThat(shed("participantsUpdate", "collapsed")).isEqualTo(1);
+        assertThat(handler.slowConsumers()).isEqualTo(1);
+
+        setWritable(true);
+
+        assertThat((Object) channel.readOutbound()).isSameAs(out);
+        assertThat(handler.slowConsumers()).isZero();
+    }
+
+    @Test
+    @DisplayName("slow-consumer-timeout 동안 계속 초과하면 연결 종료")
+    void staysOverLimit_disconnects() {
+        setWritable(false);
+        channel.writeAndFlush(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+        assertThat(channel.isOpen()).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        packets.add(event("message"));
+        channel.writeAndFlush(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(packets).isEmpty();
+        assertThat(meterRegistry.get("socketio.slow_consumer.disconnects").counter().count()).isEqualTo(1);
+        assertThat(handler.slowConsumers()).isZero();
+    }
+
+    @Test
+    @DisplayName("버릴 수 없는 패킷이 max-queued-packets를 넘으면 바로 연결 종료")
+    void tooManyQueuedPackets_disconnects() {
+        setWritable(false);
+        for (int i = 0; i < 6; i++) {
+            packets.add(event("message"));
+        }
+
+        channel.writeAndFlush(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        assertThat(channel.isOpen()).isFalse();
+    }
+}
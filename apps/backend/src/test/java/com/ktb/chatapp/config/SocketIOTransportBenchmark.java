@@ -0,0 +1,216 @@
+package com.ktb.chatapp.config;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketConfig;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Socket.IO 전송 계층 벤치마크 (기존 NIO 설정 / NIO / native epoll)
+ * 로컬 서버에 websocket 연결을 열어 초당 연결 수(Socket.IO 연결 응답까지)와
+ * 초당 echo 메시지 수를 측정한다. epoll은 Linux에서만 측정된다.
+ *
+ * 기본 테스트 실행에는 포함되지 않으며 다음과 같이 실행한다.
+ * ./mvnw test -Dtest=SocketIOTransportBenchmark
+ */
+class SocketIOTransportBenchmark {
+
+    private static final int CONNECTIONS = 2000;
+    private static final int IN_FLIGHT_CONNECTS = 256;
+    private static final int MESSAGE_CONNECTIONS = 100;
+    private static final int MESSAGES_PER_CONNECTION = 1000;
+    private static final String EVENT = "bench";
+
+    @Test
+    void transportThroughput() throws Exception {
+        System.out.printf("%-14s %-14s %-14s%n", "transport", "connections/s", "messages/s");
+        run("nio (legacy)", false, false);
+        run("nio", false, true);
+        if (Epoll.isAvailable()) {
+            run("epoll", true, true);
+        } else {
+            System.out.printf("%-14s skipped: %s%n", "epoll", Epoll.unavailabilityCause());
+        }
+    }
+
+    private void run(String name, boolean epoll, boolean tuned) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        Configuration config = new Configuration();
+        config.setHostname("127.0.0.1");
+        config.setPort(port);
+        config.setBossThreads(1);
+        config.setUseLinuxNativeEpoll(epoll);
+        SocketConfig socketConfig = new SocketConfig();
+        socketConfig.setReuseAddress(true);
+        // legacy: 기존 SocketIOConfig 값 (Nagle, backlog 10, 4KB 버퍼)
+        socketConfig.setTcpNoDelay(tuned);
+        socketConfig.setAcceptBackLog(tuned ? 1024 : 10);
+        socketConfig.setTcpSendBufferSize(tuned ? 65536 : 4096);
+        socketConfig.setTcpReceiveBufferSize(tuned ? 65536 : 4096);
+        config.setSocketConfig(socketConfig);
+
+        // tuned: 운영 설정과 같은 pooled allocator + 연결별 송신 버퍼 한도
+        SocketIOServer server = tuned
+                ? SocketIOTransport.newServer(config, new OutboundLimitHandler(
+                        new WriteBufferWaterMark(65536, 262144), 4 << 20, 1000, Duration.ofSeconds(15),
+                        Set.of("messagesRead", "aiMessageChunk"), Set.of("participantsUpdate"),
+                        new SimpleMeterRegistry()))
+                : new SocketIOServer(config);
+        server.addEventListener(EVENT, String.class, (client, data, ackRequest) -> client.sendEvent(EVENT, data));
+        server.start();
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        URI uri = URI.create("ws://127.0.0.1:" + port + "/socket.io/?EIO=4&transport=websocket");
+        try {
+            double connectionsPerSecond = measureConnections(httpClient, uri);
+            double messagesPerSecond = measureMessages(httpClient, uri);
+            System.out.printf("%-14s %-14.0f %-14.0f%n", name, connectionsPerSecond, messagesPerSecond);
+        } finally {
+            server.stop();
+        }
+    }
+
+    // Socket.IO 네임스페이스 연결 응답(40)까지 받은 연결 수 기준
+    private double measureConnections(HttpClient httpClient, URI uri) throws Exception {
+        Semaphore inFlight = new Semaphore(IN_FLIGHT_CONNECTS);
+        List<BenchClient> clients = new ArrayList<>(CONNECTIONS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            inFlight.acquire();
+            BenchClient client = new BenchClient(0);
+            clients.add(client);
+            client.connect(httpClient, uri).whenComplete((ws, error) -> {
+                if (error != null) {
+                    client.connected.countDown();
+                }
+            });
+            client.connected.thenRun(inFlight::release);
+        }
+        for (BenchClient client : clients) {
+            assertThat(client.connected.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.forEach(BenchClient::close);
+        return CONNECTIONS / elapsedSeconds;
+    }
+
+    private double measureMessages(HttpClient httpClient, URI uri) throws Exception {
+        List<BenchClient> clients = new ArrayList<>(MESSAGE_CONNECTIONS);
+        for (int i = 0; i < MESSAGE_CONNECTIONS; i++) {
+            BenchClient client = new BenchClient(MESSAGES_PER_CONNECTION);
+            client.connect(httpClient, uri).join();
+            clients.add(client);
+        }
+        for (BenchClient client : clients) {
+            assertThat(client.connected.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        String packet = "42[\"" + EVENT + "\",\"" + "x".repeat(64) + "\"]";
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> senders = new ArrayList<>();
+        for (BenchClient client : clients) {
+            senders.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < MESSAGES_PER_CONNECTION; i++) {
+                    client.webSocket.sendText(packet, true).join();
+                }
+            }));
+        }
+        CompletableFuture.allOf(senders.toArray(CompletableFuture[]::new)).join();
+        for (BenchClient client : clients) {
+            assertThat(client.echoed.await(60, TimeUnit.SECONDS)).isTrue();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.forEach(BenchClient::close);
+        return MESSAGE_CONNECTIONS * (double) MESSAGES_PER_CONNECTION / elapsedSeconds;
+    }
+
+    /**
+     * 최소 Engine.IO v4 / Socket.IO v5 websocket 클라이언트
+     */
+    private static final class BenchClient implements WebSocket.Listener {
+
+        private final Latch connected = new Latch(1);
+        private final CountDownLatch echoed;
+        private final StringBuilder partial = new StringBuilder();
+        private WebSocket webSocket;
+
+        BenchClient(int expectedEchoes) {
+            this.echoed = new CountDownLatch(expectedEchoes);
+        }
+
+        CompletableFuture<WebSocket> connect(HttpClient httpClient, URI uri) {
+            return httpClient.newWebSocketBuilder().buildAsync(uri, this)
+                    .thenApply(ws -> webSocket = ws);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String packet = partial.toString();
+                partial.setLength(0);
+                if (packet.startsWith("0{")) {
+                    ws.sendText("40", true);
+                } else if (packet.startsWith("40")) {
+                    connected.countDown();
+                } else if (packet.equals("2")) {
+                    ws.sendText("3", true);
+                } else if (packet.startsWith("42")) {
+                    echoed.countDown();
+                }
+            }
+            ws.request(1);
+            return null;
+        }
+
+        void close() {
+            if (webSocket != null) {
+                webSocket.abort();
+            }
+        }
+    }
+
+    // countDown 후 후속 작업을 실행할 수 있는 latch
+    private static final class Latch extends CountDownLatch {
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Latch(int count) {
+            super(count);
+        }
+
+        @Override
+        public void countDown() {
+            super.countDown();
+            if (getCount() == 0) {
+                done.complete(null);
+            }
+        }
+
+        void thenRun(Runnable action) {
+            done.thenRun(action);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ktb.chatapp.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageHistoryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FileRepository fileRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MessageHistoryService messageHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        messageHistoryService = new MessageHistoryService(mongoTemplate, userRepository, fileRepository, objectMapper);
+        ReflectionTestUtils.setField(messageHistoryService, "stableAfter", Duration.ofHours(1));
+        ReflectionTestUtils.setField(messageHistoryService, "maxAge", Duration.ofMinutes(10));
+    }
+
+    private List<Message> messagesDesc(int count, LocalDateTime newest) {
+        List<Message> messages = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> messages.add(Message.builder()
+                .id("m" + i)
+                .roomId("room-1")
+                .senderId("sender-1")
+                .content("message " + i)
+                .type(MessageType.text)
+                .timestamp(newest.minusMinutes(i))
+                .build()));
+        return messages;
+    }
+
+    @Test
+    @DisplayName("writePage: limit+1 조회로 hasMore 판단, 시간 오름차순 출력, 발신자는 한 번에 조회")
+    void writePage_shouldStreamAscendingPageWithCursor() throws Exception {
+        List<Message> fetched = messagesDesc(4, LocalDateTime.now().minusDays(2));
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(fetched);
+        // 본문은 범위 조회로 정한 3개를 오름차순 cursor로 읽음
+        when(mongoTemplate.stream(any(Query.class), eq(Message.class)))
+                .thenAnswer(invocation -> fetched.subList(0, 3).reversed().stream());
+        when(userRepository.findAllById(anySet())).thenReturn(List.of(
+                User.builder().id("sender-1").name("sender").email("sender@test.com").build()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageHistoryService.writePage(out, "room-1", null, 3);
+
+        JsonNode data = objectMapper.readTree(out.toByteArray()).get("data");
+        assertThat(data.get("hasMore").asBoolean()).isTrue();
+        assertThat(data.get("messages")).hasSize(3);
+        assertThat(data.get("messages").get(0).get("_id").asText()).isEqualTo("m2");
+        assertThat(data.get("messages").get(2).get("_id").asText()).isEqualTo("m0");
+        assertThat(data.get("messages").get(0).get("sender").get("name").asText()).isEqualTo("sender");
+        assertThat(data.get("messages").get(0).has("readers")).isFalse();
+        assertThat(data.get("nextBefore").asLong()).isEqualTo(fetched.get(2).toTimestampMillis());
+        verify(userRepository, times(1)).findAllById(anySet());
+        verifyNoInteractions(fileRepository);
+    }
+
+    @Test
+    @DisplayName("writePage: 빈 페이지는 nextBefore null")
+    void writePage_emptyPage() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        messageHistoryService.writePage(out, "room-1", Instant.now().toEpochMilli(), 30);
+
+        JsonNode data = objectMapper.readTree(out.toByteArray()).get("data");
+        assertThat(data.get("messages")).isEmpty();
+        assertThat(data.get("hasMore").asBoolean()).isFalse();
+        assertThat(data.get("nextBefore").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("isStable: 기준보다 오래된 커서만 안정 페이지")
+    void stablePagesAreOlderThanThreshold() {
+        assertThat(messageHistoryService.isStable(null)).isFalse();
+        assertThat(messageHistoryService.isStable(Instant.now().minusSeconds(60).toEpochMilli())).isFalse();
+        assertThat(messageHistoryService.isStable(Instant.now().minus(Duration.ofDays(1)).toEpochMilli())).isTrue();
+    }
+
+    @Test
+    @DisplayName("stableEtagOf: 페이지 본문 없이 계산하고, 범위 안의 리액션이 바뀌면 달라짐")
+    void stableEtagChangesWhenReactionsChange() {
+        long old = Instant.now().minus(Duration.ofDays(1)).toEpochMilli();
+        Message reacted = Message.builder().id("m1").reactionsUpdatedAt(LocalDateTime.now().minusDays(3)).build();
+        when(mongoTemplate.findOne(any(Query.class), eq(Message.class))).thenReturn(reacted);
+
+        String etag = messageHistoryService.stableEtagOf("room-1", old, 30);
+        assertThat(messageHistoryService.stableEtagOf("room-1", old, 30))
+                .isEqualTo(etag)
+                .isNotEqualTo(messageHistoryService.stableEtagOf("room-1", old, 50))
+                .startsWith("\"");
+
+        reacted.setReactionsUpdatedAt(LocalDateTime.now().minusDays(2));
+        assertThat(messageHistoryService.stableEtagOf("room-1", old, 30)).isNotEqualTo(etag);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Message.class));
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Message.class));
+        verifyNoInteractions(userRepository, fileRepository);
+    }
+}
@@ -0,0 +1,153 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.event.MessagesReadEvent;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReceiptAggregatorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private MessageReadStatusService messageReadStatusService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<Collection<RoomReadWatermark>> positions;
+
+    private ReadReceiptAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ReadReceiptAggregator(
+                messageReadStatusService, mongoTemplate, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "maxPendingIdsPerUser", 500);
+        lenient().when(messageReadStatusService.advanceWatermarks(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+    }
+
+    private static Message message(String id, String roomId, int minutes) {
+        return Message.builder().id(id).roomId(roomId).timestamp(BASE.plusMinutes(minutes)).build();
+    }
+
+    @Test
+    @DisplayName("submit: (user, room) 별로 가장 최근 읽음 위치만 유지")
+    void submit_keepsLatestPositionPerUserAndRoom() {
+        aggregator.submit("user-1", List.of(message("m2", "room-1", 2), message("m1", "room-1", 1)));
+        aggregator.submit("user-1", List.of(message("m3", "room-1", 3), message("m0", "room-1", 0)));
+
+        aggregator.flush();
+
+        verify(messageReadStatusService).advanceWatermarks(positions.capture());
+        assertThat(positions.getValue())
+                .singleElement()
+                .satisfies(position -> {
+                    assertThat(position.getLastReadMessageId()).isEqualTo("m3");
+                    assertThat(position.getLastReadTimestamp()).isEqualTo(BASE.plusMinutes(3));
+                });
+        // 히스토리 조회 경로는 브로드캐스트하지 않음
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("flush: 참여하지 않은 방의 메시지 ID는 버림")
+    void flush_dropsMessagesFromRoomsNotJoined() {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(List.of(
+                message("m1", "room-1", 1), message("m2", "room-2", 2)));
+
+        aggregator.submit("user-1", List.of("m1", "m2", "unknown"), Set.of("room-1"));
+        aggregator.flush();
+
+        verify(messageReadStatusService).advanceWatermarks(positions.capture());
+        assertThat(positions.getValue())
+                .extracting(RoomReadWatermark::getRoomId)
+                .containsExactly("room-1");
+        ArgumentCaptor<MessagesReadEvent> events = ArgumentCaptor.forClass(MessagesReadEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertThat(events.getValue().getMessageIds()).containsExactly("m1");
+    }
+
+    @Test
+    @DisplayName("flush: 한 번의 bulk write와 (user, room) 당 하나의 이벤트")
+    void flush_writesOnceAndPublishesOneEventPerUserAndRoom() {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(List.of(
+                message("m1", "room-1", 1), message("m2", "room-1", 2), message("m3", "room-2", 3)));
+
+        aggregator.submit("user-1", List.of("m1"), Set.of("room-1", "room-2"));
+        aggregator.submit("user-1", List.of("m2", "m3"), Set.of("room-1", "room-2"));
+        aggregator.submit("user-2", List.of("m1", "m2"), Set.of("room-1"));
+        aggregator.flush();
+
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Message.class));
+        verify(messageReadStatusService, times(1)).advanceWatermarks(positions.capture());
+        assertThat(positions.getValue()).hasSize(3);
+
+        ArgumentCaptor<MessagesReadEvent> events = ArgumentCaptor.forClass(MessagesReadEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(event -> event.getUserId() + "/" + event.getRoomId() + "=" + event.getMessageIds())
+                .containsExactlyInAnyOrder("user-1/room-1=[m1, m2]", "user-1/room-2=[m3]", "user-2/room-1=[m1, m2]");
+
+        // 비워진 뒤의 flush는 아무것도 쓰지 않음
+        aggregator.flush();
+        verifyNoMoreInteractions(messageReadStatusService);
+    }
+
+    @Test
+    @DisplayName("flush: 진행 중에 들어온 읽음 요청은 유실되지 않고 다음 flush에 반영")
+    void flush_keepsSubmitsArrivingDuringFlush() {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class)))
+                .thenAnswer(invocation -> {
+                    // 채팅방 조회 중 도착한 요청
+                    aggregator.submit("user-1", List.of("m2"), Set.of("room-1"));
+                    return List.of(message("m1", "room-1", 1));
+                })
+                .thenReturn(List.of(message("m2", "room-1", 2)));
+        when(messageReadStatusService.advanceWatermarks(anyCollection()))
+                .thenAnswer(invocation -> {
+                    // bulk write 중 도착한 요청
+                    aggregator.submit("user-2", List.of(message("m3", "room-1", 3)));
+                    return 1;
+                })
+                .thenReturn(2);
+
+        aggregator.submit("user-1", List.of("m1"), Set.of("room-1"));
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(messageReadStatusService, times(2)).advanceWatermarks(positions.capture());
+        assertThat(positions.getAllValues().get(0))
+                .extracting(RoomReadWatermark::getLastReadMessageId)
+                .containsExactly("m1");
+        assertThat(positions.getAllValues().get(1))
+                .extracting(position -> position.getUserId() + "=" + position.getLastReadMessageId())
+                .containsExactlyInAnyOrder("user-1=m2", "user-2=m3");
+    }
+}
@@ -0,0 +1,128 @@
+package com.ktb.chatapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomActivityCounterTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript script;
+
+    private MutableClock clock;
+    private RoomActivityCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        counter = new RoomActivityCounter(redissonClient, new SimpleMeterRegistry(), clock);
+        lenient().when(redissonClient.getScript(any(Codec.class))).thenReturn(script);
+    }
+
+    @Test
+    @DisplayName("recentCount: 최근 10분 분 단위 버킷만 합산")
+    void recentCount_slidesWithWindow() {
+        counter.record("room-1");
+        counter.record("room-1");
+        clock.advance(Duration.ofMinutes(5));
+        counter.record("room-1");
+
+        assertThat(counter.recentCount("room-1")).isEqualTo(3);
+        assertThat(counter.recentCount("room-2")).isZero();
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(counter.recentCount("room-1")).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(counter.recentCount("room-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("merge: 증가분을 HINCRBY 인자로 보내고 전체 노드 합계로 교체")
+    @SuppressWarnings("unchecked")
+    void merge_sendsDeltasAndUsesClusterTotals() {
+        counter.record("room-1");
+        counter.record("room-1");
+
+        List<Object> windows = new ArrayList<>();
+        for (int i = 0; i < RoomActivityCounter.WINDOW_MINUTES - 1; i++) {
+            windows.add(List.of());
+        }
+        // 다른 노드의 증가분 포함 현재 분 합계
+        windows.add(List.of("room-1", "7", "room-2", "3"));
+        when(script.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class))).thenReturn(windows);
+
+        counter.merge();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(script).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), args.capture());
+        assertThat(args.getValue()).containsSequence(
+                String.valueOf(RoomActivityCounter.WINDOW_MINUTES), "room-1", "2");
+
+        assertThat(counter.recentCount("room-1")).isEqualTo(7);
+        assertThat(counter.recentCount("room-2")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("merge: Redis 실패 시 증가분을 유지하여 다음 주기에 재시도")
+    void merge_keepsPendingOnFailure() {
+        counter.record("room-1");
+        when(script.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class))).thenThrow(new IllegalStateException("redis down"));
+
+        counter.merge();
+
+        assertThat(counter.recentCount("room-1")).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
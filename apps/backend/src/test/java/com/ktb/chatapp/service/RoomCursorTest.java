@@ -0,0 +1,44 @@
+package com.ktb.chatapp.service;
+
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomCursorTest {
+
+    @Test
+    void encodeAndParse_roundTrip() {
+        ObjectId id = new ObjectId();
+        Date createdAt = new Date(1_700_000_000_000L);
+        RoomCursor cursor = RoomCursor.of(new Document("_id", id).append("createdAt", createdAt));
+
+        RoomCursor parsed = RoomCursor.parse(cursor.encode());
+
+        assertThat(cursor.encode()).isEqualTo("1700000000000," + id.toHexString());
+        assertThat(parsed).isEqualTo(cursor);
+    }
+
+    @Test
+    void filter_continuesAfterCursorInSortDirection() {
+        ObjectId id = new ObjectId();
+        Date createdAt = new Date(1_700_000_000_000L);
+        RoomCursor cursor = new RoomCursor(createdAt, id);
+
+        assertThat(cursor.filter(false)).isEqualTo(new Document("$or", List.of(
+                new Document("createdAt", new Document("$lt", createdAt)),
+                new Document("createdAt", createdAt).append("_id", new Document("$lt", id)))));
+        assertThat(cursor.filter(true).toJson()).contains("$gt").doesNotContain("$lt");
+    }
+
+    @Test
+    void parse_rejectsMalformedCursor() {
+        assertThatThrownBy(() -> RoomCursor.parse("abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RoomCursor.parse("abc,123")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RoomCursor.parse("123,")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
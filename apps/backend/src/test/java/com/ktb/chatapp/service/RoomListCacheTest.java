@@ -0,0 +1,155 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.event.RoomCreatedEvent;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomListCacheTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private RoomListCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getTopic(anyString(), any(Codec.class))).thenReturn(topic);
+        cache = new RoomListCache(redissonClient, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        cache.subscribe();
+    }
+
+    private RoomListCache.Entry load(String... roomIds) {
+        loads.incrementAndGet();
+        byte[] body = ("{\"rooms\":\"" + String.join(",", roomIds) + "\"}").getBytes(StandardCharsets.UTF_8);
+        return RoomListCache.Entry.of(body, Set.of(roomIds));
+    }
+
+    @Test
+    @DisplayName("get: 같은 키는 캐시된 페이지와 ETag 재사용, 검색어는 정규화")
+    void get_reusesCachedPage() {
+        RoomListCache.Entry first = cache.get(RoomListCache.Key.of(0, 10, "createdAt", "desc", " Chat ", null, false),
+                () -> load("room-1"));
+        RoomListCache.Entry second = cache.get(RoomListCache.Key.of(0, 10, "createdAt", "desc", "chat", null, false),
+                () -> load("room-1"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.etag()).isEqualTo(first.etag()).startsWith("\"");
+    }
+
+    @Test
+    @DisplayName("참여자 변경: 해당 방이 포함된 페이지와 참여자 수 정렬 페이지만 무효화")
+    void participantsChanged_evictsAffectedPagesOnly() {
+        RoomListCache.Key withRoom = RoomListCache.Key.of(0, 10, "createdAt", "desc", null, null, false);
+        RoomListCache.Key withoutRoom = RoomListCache.Key.of(1, 10, "createdAt", "desc", null, null, false);
+        RoomListCache.Key byParticipants = RoomListCache.Key.of(0, 10, "participantsCount", "desc", null, null, false);
+        cache.get(withRoom, () -> load("room-1"));
+        cache.get(withoutRoom, () -> load("room-2"));
+        cache.get(byParticipants, () -> load("room-3"));
+
+        cache.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1"));
+        loads.set(0);
+
+        cache.get(withRoom, () -> load("room-1"));
+        cache.get(withoutRoom, () -> load("room-2"));
+        cache.get(byParticipants, () -> load("room-3"));
+
+        assertThat(loads).hasValue(2);
+        verify(topic).publishAsync(endsWith("|room-1"));
+    }
+
+    @Test
+    @DisplayName("방 생성: 전체 무효화, 조회 도중 무효화된 결과는 저장하지 않음")
+    void roomCreated_evictsAllAndSkipsStaleLoad() {
+        RoomListCache.Key key = RoomListCache.Key.of(0, 10, "createdAt", "desc", null, null, false);
+        cache.get(key, () -> {
+            cache.onRoomCreated(new RoomCreatedEvent(this, null));
+            return load("room-1");
+        });
+        cache.get(key, () -> load("room-1"));
+        cache.get(key, () -> load("room-1"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("조회 도중 다른 방의 무효화는 결과 저장을 막지 않음")
+    void unrelatedInvalidationDuringLoad_stillCaches() {
+        RoomListCache.Key key = RoomListCache.Key.of(0, 10, "createdAt", "desc", null, null, false);
+        cache.get(key, () -> {
+            cache.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-9"));
+            return load("room-1");
+        });
+        cache.get(key, () -> load("room-1"));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 miss는 한 번만 조회")
+    void concurrentMisses_loadOnce() throws Exception {
+        RoomListCache.Key key = RoomListCache.Key.of(0, 10, "createdAt", "desc", null, null, false);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<RoomListCache.Entry> first = executor.submit(() -> cache.get(key, () -> {
+                loaderStarted.countDown();
+                awaitQuietly(release);
+                return load("room-1");
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<RoomListCache.Entry>> waiters = List.of(
+                    executor.submit(() -> cache.get(key, () -> load("room-1"))),
+                    executor.submit(() -> cache.get(key, () -> load("room-1"))));
+            Thread.sleep(100);
+            release.countDown();
+
+            String etag = first.get(5, TimeUnit.SECONDS).etag();
+            for (Future<RoomListCache.Entry> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS).etag()).isEqualTo(etag);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
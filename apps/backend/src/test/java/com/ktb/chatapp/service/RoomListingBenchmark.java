@@ -0,0 +1,229 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 목록 조회 지연 시간 벤치마크 (페이지 크기 x 참여자 수)
+ * 방마다 생성자/참여자/최근 메시지 수를 따로 조회하던 방식과 RoomListingQuery aggregation을 비교하고,
+ * 깊은 페이지에서 skip 오프셋과 keyset 커서를 비교한다.
+ *
+ * 기본 테스트 실행에는 포함되지 않으며(Docker 필요) 다음과 같이 실행한다.
+ * ./mvnw test -Dtest=RoomListingBenchmark
+ */
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "spring.data.mongodb.auto-index-creation=true",
+        "socketio.enabled=false"
+})
+class RoomListingBenchmark {
+
+    private static final int[] PAGE_SIZES = {10, 25, 50};
+    private static final int[] PARTICIPANT_COUNTS = {5, 20, 50};
+    private static final int USER_POOL = 300;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 20;
+    private static final int DEEP_PAGE_ROOMS = 50_000;
+
+    @Autowired
+    private RoomListingQuery roomListingQuery;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        messageRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void roomListLatency() {
+        List<User> users = userRepository.saveAll(IntStream.range(0, USER_POOL)
+                .mapToObj(i -> User.builder()
+                        .name("user-" + i)
+                        .email("user-" + i + "@bench.test")
+                        .password("password")
+                        .build())
+                .toList());
+
+        System.out.printf("%-10s %-13s %-22s %-22s%n",
+                "pageSize", "participants", "n+1 p50/p95 (ms)", "aggregation p50/p95 (ms)");
+
+        for (int participants : PARTICIPANT_COUNTS) {
+            seedRooms(users, Arrays.stream(PAGE_SIZES).max().orElseThrow(), participants);
+
+            for (int pageSize : PAGE_SIZES) {
+                List<RoomResponse> aggregated = roomListingQuery.find(
+                        RoomListingQuery.Request.firstPage("createdAt", false, pageSize), null).rooms();
+                assertThat(aggregated).hasSize(pageSize);
+                assertThat(aggregated).allSatisfy(room ->
+                        assertThat(room.getParticipantsCount()).isEqualTo(participants));
+
+                double[] legacy = measure(() -> legacyListing(pageSize));
+                double[] aggregation = measure(() -> roomListingQuery.find(
+                        RoomListingQuery.Request.firstPage("createdAt", false, pageSize), null));
+
+                System.out.printf("%-10d %-13d %8.2f / %-11.2f %8.2f / %-11.2f%n",
+                        pageSize, participants, legacy[0], legacy[1], aggregation[0], aggregation[1]);
+            }
+
+            messageRepository.deleteAll();
+            roomRepository.deleteAll();
+        }
+    }
+
+    // 깊은 페이지: skip 오프셋과 (createdAt, _id) 커서 비교
+    @Test
+    void deepPageLatency() {
+        User creator = userRepository.save(User.builder()
+                .name("creator")
+                .email("creator@bench.test")
+                .password("password")
+                .build());
+        int pageSize = 20;
+        int roomCount = DEEP_PAGE_ROOMS;
+        for (int offset = 0; offset < roomCount; offset += 1000) {
+            List<Room> batch = IntStream.range(offset, Math.min(offset + 1000, roomCount))
+                    .mapToObj(i -> Room.builder()
+                            .name("room-" + i)
+                            .creator(creator.getId())
+                            .participantIds(new HashSet<>(Set.of(creator.getId())))
+                            .build())
+                    .toList();
+            roomRepository.saveAll(batch);
+        }
+
+        System.out.printf("%-10s %-22s %-22s%n", "page", "offset p50/p95 (ms)", "cursor p50/p95 (ms)");
+        for (int page : new int[] {0, 100, 1000, roomCount / pageSize - 1}) {
+            RoomListingQuery.Request offsetRequest =
+                    new RoomListingQuery.Request(null, "createdAt", false, page, pageSize, null, false);
+            List<RoomResponse> expected = roomListingQuery.find(offsetRequest, null).rooms();
+
+            // 바로 앞 페이지의 마지막 방을 커서로 사용
+            String after = null;
+            if (page > 0) {
+                RoomResponse previous = roomListingQuery.find(new RoomListingQuery.Request(
+                        null, "createdAt", false, page - 1, pageSize, null, false), null).rooms().getLast();
+                Room previousRoom = roomRepository.findById(previous.getId()).orElseThrow();
+                after = previousRoom.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        + "," + previousRoom.getId();
+            }
+            RoomListingQuery.Request cursorRequest =
+                    new RoomListingQuery.Request(null, "createdAt", false, 0, pageSize, after, false);
+            assertThat(roomListingQuery.find(cursorRequest, null).rooms())
+                    .extracting(RoomResponse::getId)
+                    .containsExactlyElementsOf(expected.stream().map(RoomResponse::getId).toList());
+
+            double[] offset = measure(() -> roomListingQuery.find(offsetRequest, null));
+            double[] cursor = measure(() -> roomListingQuery.find(cursorRequest, null));
+            System.out.printf("%-10d %8.2f / %-11.2f %8.2f / %-11.2f%n",
+                    page, offset[0], offset[1], cursor[0], cursor[1]);
+        }
+    }
+
+    private void seedRooms(List<User> users, int roomCount, int participants) {
+        List<Room> rooms = IntStream.range(0, roomCount)
+                .mapToObj(i -> {
+                    Set<String> participantIds = new HashSet<>();
+                    for (int p = 0; p < participants; p++) {
+                        participantIds.add(users.get((i * 7 + p) % users.size()).getId());
+                    }
+                    return Room.builder()
+                            .name("room-" + i)
+                            .creator(users.get(i % users.size()).getId())
+                            .participantIds(participantIds)
+                            .build();
+                })
+                .toList();
+        rooms = roomRepository.saveAll(rooms);
+
+        List<Message> messages = new ArrayList<>();
+        for (Room room : rooms) {
+            for (int m = 0; m < 5; m++) {
+                messages.add(Message.builder()
+                        .roomId(room.getId())
+                        .senderId(room.getCreator())
+                        .content("message " + m)
+                        .type(MessageType.text)
+                        .timestamp(LocalDateTime.now().minusMinutes(m * 3L))
+                        .build());
+            }
+        }
+        mongoTemplate.insertAll(messages);
+    }
+
+    // 기존 RoomService 방식: 방마다 생성자, 참여자 각각, 최근 메시지 수를 따로 조회
+    private int legacyListing(int pageSize) {
+        int queries = 0;
+        var page = roomRepository.findAll(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")));
+        queries += 2;
+        LocalDateTime tenMinutesAgo = LocalDateTime.now().minusMinutes(10);
+        for (Room room : page.getContent()) {
+            userRepository.findById(room.getCreator());
+            queries++;
+            for (String participantId : room.getParticipantIds()) {
+                userRepository.findById(participantId);
+                queries++;
+            }
+            messageRepository.countRecentMessagesByRoomId(room.getId(), tenMinutesAgo);
+            queries++;
+        }
+        return queries;
+    }
+
+    private static double[] measure(Supplier<?> action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.get();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new double[] {
+                samples[ITERATIONS / 2] / 1_000_000.0,
+                samples[(int) Math.ceil(ITERATIONS * 0.95) - 1] / 1_000_000.0
+        };
+    }
+}
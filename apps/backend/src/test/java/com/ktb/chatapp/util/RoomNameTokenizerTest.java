@@ -0,0 +1,35 @@
+package com.ktb.chatapp.util;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomNameTokenizerTest {
+
+    @Test
+    void tokens_containsAllGramsUpToThree() {
+        Set<String> tokens = RoomNameTokenizer.tokens(" Chat방 ");
+
+        assertThat(tokens).contains("c", "ch", "cha", "hat", "at방", "방");
+        assertThat(tokens).doesNotContain("chat", " ");
+        assertThat(RoomNameTokenizer.tokens(null)).isEmpty();
+    }
+
+    @Test
+    void queryTokens_shortSearchIsSingleToken() {
+        assertThat(RoomNameTokenizer.queryTokens("CH")).containsExactly("ch");
+        assertThat(RoomNameTokenizer.queryTokens("프로젝")).containsExactly("프로젝");
+        assertThat(RoomNameTokenizer.queryTokens("   ")).isEmpty();
+    }
+
+    @Test
+    void queryTokens_longSearchIsSubsetOfMatchingNameTokens() {
+        List<String> query = RoomNameTokenizer.queryTokens("프로젝트 회의");
+
+        assertThat(query).containsExactly("프로젝", "로젝트", "젝트 ", "트 회", " 회의");
+        assertThat(RoomNameTokenizer.tokens("2분기 프로젝트 회의실")).containsAll(query);
+        assertThat(RoomNameTokenizer.tokens("프로젝트 일정")).doesNotContainAnyElementsOf(List.of("트 회", " 회의"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ParticipantsDeltaResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.model.Room;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANTS_DELTA;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANTS_UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantsPublisherTest {
+
+    @Mock
+    private SocketIOServer socketIOServer;
+
+    @Mock
+    private BroadcastOperations roomOperations;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> rooms;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    @Mock
+    private ParticipantProfileCache profileCache;
+
+    private ParticipantsPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ParticipantsPublisher(socketIOServer, mongoTemplate, profileCache, new SimpleMeterRegistry());
+    }
+
+    private static UserResponse profile(String userId) {
+        return UserResponse.builder().id(userId).name("name " + userId).build();
+    }
+
+    @Test
+    @DisplayName("flush: 주기 동안의 입장/퇴장을 방당 한 번의 전체 목록으로 발송, 참가자는 한 번에 조회")
+    void flush_coalescesChangesIntoSingleUpdatePerRoom() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(mongoTemplate.getCollectionName(Room.class)).thenReturn("rooms");
+        when(mongoTemplate.getCollection("rooms")).thenReturn(rooms);
+        when(rooms.find(any(Document.class))).thenReturn(findIterable);
+        when(findIterable.projection(any())).thenReturn(findIterable);
+        doAnswer(invocation -> {
+            Consumer<Document> consumer = invocation.getArgument(0);
+            consumer.accept(new Document("_id", "room-1").append("participantIds", List.of("user-1", "user-2")));
+            return null;
+        }).when(findIterable).forEach(any());
+        when(profileCache.load(anyCollection())).thenReturn(Map.of(
+                "user-1", profile("user-1"),
+                "user-2", profile("user-2")));
+
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-1", true));
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-2", true));
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-3", false));
+        publisher.flush();
+        publisher.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(roomOperations, times(1)).sendEvent(eq(PARTICIPANTS_UPDATE), payload.capture());
+        @SuppressWarnings("unchecked")
+        List<UserResponse> participants = (List<UserResponse>) payload.getValue();
+        assertThat(participants).extracting(UserResponse::getId).containsExactly("user-1", "user-2");
+        verify(rooms, times(1)).find(any(Document.class));
+        verify(profileCache, times(1)).load(anyCollection());
+    }
+
+    @Test
+    @DisplayName("flush(delta-mode): 입장자 프로필과 퇴장자 ID만 발송, 방 조회 없음")
+    void flush_sendsDeltaInDeltaMode() {
+        ReflectionTestUtils.setField(publisher, "deltaMode", true);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(profileCache.load(anyCollection())).thenReturn(Map.of("user-2", profile("user-2")));
+
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-1", true));
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-1", false));
+        publisher.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-1", "user-2", true));
+        publisher.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(roomOperations, times(1)).sendEvent(eq(PARTICIPANTS_DELTA), payload.capture());
+        ParticipantsDeltaResponse delta = (ParticipantsDeltaResponse) payload.getValue();
+        assertThat(delta.getRoomId()).isEqualTo("room-1");
+        assertThat(delta.getAdded()).extracting(UserResponse::getId).containsExactly("user-2");
+        assertThat(delta.getRemoved()).containsExactly("user-1");
+        verify(roomOperations, never()).sendEvent(eq(PARTICIPANTS_UPDATE), any());
+        verifyNoInteractions(mongoTemplate);
+    }
+}
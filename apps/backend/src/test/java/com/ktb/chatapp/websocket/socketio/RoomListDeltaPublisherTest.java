@@ -0,0 +1,82 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.RoomListDeltaResponse;
+import com.ktb.chatapp.dto.RoomResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOM_LIST_DELTA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomListDeltaPublisherTest {
+
+    @Mock
+    private SocketIOServer socketIOServer;
+
+    @Mock
+    private BroadcastOperations roomListOperations;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private RoomListDeltaPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new RoomListDeltaPublisher(socketIOServer, mongoTemplate, new SimpleMeterRegistry());
+    }
+
+    private RoomCreatedEvent created(String roomId) {
+        return new RoomCreatedEvent(this, RoomResponse.builder()
+                .id(roomId)
+                .name("room " + roomId)
+                .participants(List.of(UserResponse.builder().id("user-1").build()))
+                .createdAtDateTime(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("flush: 주기 동안 생성된 방을 요약으로 묶어 한 번만 발송")
+    void flush_batchesCreatedRoomsIntoSingleDelta() {
+        when(socketIOServer.getRoomOperations("room-list")).thenReturn(roomListOperations);
+        publisher.onRoomCreated(created("room-1"));
+        publisher.onRoomCreated(created("room-2"));
+
+        publisher.flush();
+        publisher.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(roomListOperations, times(1)).sendEvent(eq(ROOM_LIST_DELTA), payload.capture());
+        RoomListDeltaResponse delta = (RoomListDeltaResponse) payload.getValue();
+        assertThat(delta.getCreated())
+                .extracting(RoomListDeltaResponse.RoomSummary::getId)
+                .containsExactly("room-1", "room-2");
+        assertThat(delta.getCreated().getFirst().getParticipantsCount()).isEqualTo(1);
+        assertThat(delta.getUpdated()).isEmpty();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("flush: 변경이 없으면 발송하지 않음")
+    void flush_skipsWhenNothingChanged() {
+        publisher.flush();
+
+        verifyNoInteractions(socketIOServer, mongoTemplate);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.websocket.socketio.handler.MessageResponseMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SystemMessagePublisherTest {
+
+    @Mock
+    private SocketIOServer socketIOServer;
+
+    @Mock
+    private BroadcastOperations roomOperations;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private FileRepository fileRepository;
+
+    private SystemMessagePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new SystemMessagePublisher(socketIOServer, messageRepository,
+                new MessageResponseMapper(fileRepository), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("ephemeral: 저장하지 않고 별도 ID로 브로드캐스트")
+    void ephemeral_broadcastsWithoutPersisting() {
+        publisher.setMode("ephemeral");
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+
+        publisher.userJoined("room-1", "alice");
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(roomOperations).sendEvent(eq(MESSAGE), payload.capture());
+        MessageResponse response = (MessageResponse) payload.getValue();
+        assertThat(response.getContent()).isEqualTo("alice님이 입장하였습니다.");
+        assertThat(response.getId()).startsWith("ephemeral-");
+        assertThat(response.getMetadata()).containsEntry("ephemeral", true);
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("aggregate: 주기 동안의 입장/퇴장을 방당 한 건으로 저장")
+    void aggregate_persistsSingleSummaryPerRoom() {
+        publisher.setMode("aggregate");
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setId("m1");
+            return message;
+        });
+
+        publisher.userJoined("room-1", "a");
+        publisher.userJoined("room-1", "b");
+        publisher.userJoined("room-1", "c");
+        publisher.userJoined("room-1", "d");
+        publisher.userJoined("room-1", "e");
+        publisher.userLeft("room-1", "f");
+        verifyNoInteractions(messageRepository, socketIOServer);
+
+        publisher.flush();
+        publisher.flush();
+
+        ArgumentCaptor<Message> saved = ArgumentCaptor.forClass(Message.class);
+        verify(messageRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getType()).isEqualTo(MessageType.system);
+        assertThat(saved.getValue().getContent())
+                .isEqualTo("a, b, c 외 2명이 입장하였습니다. f님이 퇴장하였습니다.");
+        assertThat(saved.getValue().getMetadata())
+                .containsEntry("aggregated", true)
+                .containsEntry("joinedCount", 5);
+        verify(roomOperations, times(1)).sendEvent(eq(MESSAGE), any(MessageResponse.class));
+    }
+}
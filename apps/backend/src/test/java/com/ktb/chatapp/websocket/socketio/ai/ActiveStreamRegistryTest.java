@@ -0,0 +1,63 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveStreamRegistryTest {
+
+    private ActiveStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ActiveStreamRegistry(new SimpleMeterRegistry());
+    }
+
+    private static StreamingSession session(String messageId, String roomId, long timestamp) {
+        return StreamingSession.builder()
+                .messageId(messageId)
+                .roomId(roomId)
+                .aiType("wayneAI")
+                .timestamp(timestamp)
+                .build();
+    }
+
+    @Test
+    @DisplayName("activeStreams: 방의 진행 중인 스트림을 시작 순으로 현재 내용과 seq와 함께 반환")
+    void activeStreams_returnsCurrentBufferAndSeq() {
+        StreamingSession later = session("wayneAI-2", "room-1", 2000);
+        StreamingSession earlier = session("wayneAI-1", "room-1", 1000);
+        registry.register(later);
+        registry.register(earlier);
+        registry.register(session("wayneAI-3", "room-2", 1500));
+        earlier.appendContent("안녕");
+        earlier.appendContent("하세요");
+
+        List<ActiveStreamResponse> streams = registry.activeStreams("room-1");
+
+        assertThat(streams).extracting(ActiveStreamResponse::getId).containsExactly("wayneAI-1", "wayneAI-2");
+        assertThat(streams.getFirst().getContent()).isEqualTo("안녕하세요");
+        assertThat(streams.getFirst().getSeq()).isEqualTo(2);
+        assertThat(streams.getFirst().isStreaming()).isTrue();
+        assertThat(streams.get(1).getSeq()).isZero();
+    }
+
+    @Test
+    @DisplayName("remove: 완료된 세션은 조회되지 않고 빈 방 항목도 정리")
+    void remove_evictsCompletedSessions() {
+        registry.register(session("wayneAI-1", "room-1", 1000));
+
+        registry.remove("wayneAI-1");
+        registry.remove("wayneAI-1");
+
+        assertThat(registry.find("wayneAI-1")).isEmpty();
+        assertThat(registry.activeStreams("room-1")).isEmpty();
+        assertThat(registry.size()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 청크 전송량 벤치마크 (4k 토큰 응답, 방 참여자 1명 기준 바이트)
+ * 청크마다 누적 내용(fullContent)을 보내던 방식과 delta + seq 방식을 비교한다.
+ * 방 참여자 수만큼 곱하면 방 전체 전송량이 된다.
+ *
+ * 기본 테스트 실행에는 포함되지 않으며 다음과 같이 실행한다.
+ * ./mvnw test -Dtest=AiChunkPayloadBenchmark
+ */
+class AiChunkPayloadBenchmark {
+
+    private static final int TOKENS = 4096;
+    private static final String[] WORDS = {"안녕", "하세요", " 채팅", " 서버", " 부하", " 테스트", " the", " load",
+            " test", " stream", "```", "\n", " 응답", "입니다", "."};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void bytesPerAnswer() throws Exception {
+        List<String> tokens = syntheticTokens();
+
+        long legacyBytes = 0;
+        String legacyContent = "";
+        long legacyStart = System.nanoTime();
+        for (String token : tokens) {
+            legacyContent += token;
+            legacyBytes += objectMapper.writeValueAsBytes(Map.of(
+                    "messageId", "wayneAI-1700000000000",
+                    "fullContent", legacyContent,
+                    "isCodeBlock", false,
+                    "isComplete", false)).length;
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long deltaBytes = 0;
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1700000000000").build();
+        long deltaStart = System.nanoTime();
+        for (String token : tokens) {
+            long seq = session.appendContent(token);
+            deltaBytes += objectMapper.writeValueAsBytes(Map.of(
+                    "messageId", session.getMessageId(),
+                    "delta", token,
+                    "seq", seq,
+                    "isCodeBlock", false,
+                    "isComplete", false)).length;
+        }
+        long deltaNanos = System.nanoTime() - deltaStart;
+
+        assertThat(session.getContent()).isEqualTo(legacyContent);
+        int answerBytes = objectMapper.writeValueAsBytes(legacyContent).length;
+
+        System.out.printf("tokens=%d, answer=%d bytes%n", TOKENS, answerBytes);
+        System.out.printf("%-14s %14s %14s%n", "mode", "bytes/member", "build (ms)");
+        System.out.printf("%-14s %14d %14.2f%n", "fullContent", legacyBytes, legacyNanos / 1_000_000.0);
+        System.out.printf("%-14s %14d %14.2f%n", "delta+seq", deltaBytes, deltaNanos / 1_000_000.0);
+        System.out.printf("ratio=%.1fx%n", (double) legacyBytes / deltaBytes);
+    }
+
+    private static List<String> syntheticTokens() {
+        Random random = new Random(42);
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return tokens;
+    }
+}
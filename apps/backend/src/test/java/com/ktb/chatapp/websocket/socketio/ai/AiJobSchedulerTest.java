@@ -0,0 +1,127 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageQueuedEvent;
+import com.ktb.chatapp.event.RoomParticipantsChangedEvent;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiJobSchedulerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    private AiJobScheduler scheduler;
+
+    private final List<String> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new AiJobScheduler(eventPublisher, roomRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(scheduler, "maxConcurrentPerRoom", 1);
+    }
+
+    private StreamingSession session(String roomId, String messageId) {
+        return StreamingSession.builder().roomId(roomId).messageId(messageId).aiType("wayneAI").build();
+    }
+
+    private AiStreamHandler submit(String roomId, String messageId) {
+        AiStreamHandler handler = mock(AiStreamHandler.class);
+        scheduler.submit(session(roomId, messageId), () -> {
+            started.add(messageId);
+            return handler;
+        });
+        return handler;
+    }
+
+    private void complete(String roomId, String messageId) {
+        scheduler.onAiMessageComplete(new AiMessageCompleteEvent(this, roomId, messageId, "", null, 0L, "", 0L));
+    }
+
+    @Test
+    @DisplayName("전체/방별 동시 실행 한도를 넘는 작업은 대기, 슬롯이 비면 방 단위 round-robin으로 시작")
+    void limitsConcurrencyAndDispatchesRoomsRoundRobin() {
+        submit("room-a", "a1");
+        submit("room-a", "a2");
+        submit("room-b", "b1");
+        submit("room-a", "a3");
+        submit("room-c", "c1");
+        assertThat(started).containsExactly("a1", "b1");
+        assertThat(scheduler.queuedCount()).isEqualTo(3);
+
+        complete("room-a", "a1");
+        complete("room-b", "b1");
+
+        // room-a가 다시 두 번 연속 차지하지 않고 room-c 차례가 온다
+        assertThat(started).containsExactly("a1", "b1", "a2", "c1");
+        assertThat(scheduler.runningCount()).isEqualTo(2);
+
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .map(event -> ((AiMessageQueuedEvent) event).getMessageId())
+                .containsExactly("a2", "a3", "c1");
+    }
+
+    @Test
+    @DisplayName("참여자가 모두 나간 방의 실행 중 작업은 cancel, 대기 작업은 제거")
+    void cancelsJobsWhenRoomEmpties() {
+        AiStreamHandler running = submit("room-a", "a1");
+        submit("room-a", "a2");
+        when(roomRepository.hasParticipants("room-a")).thenReturn(false);
+
+        scheduler.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-a", "user-1", false));
+
+        verify(running).cancel();
+        assertThat(scheduler.queuedCount()).isZero();
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .filteredOn(AiMessageErrorEvent.class::isInstance)
+                .map(event -> ((AiMessageErrorEvent) event).getMessageId())
+                .containsExactlyInAnyOrder("a1", "a2");
+
+        // 에러 이벤트로 슬롯 반환 후 다른 방 작업은 바로 시작
+        scheduler.onAiMessageError(new AiMessageErrorEvent(this, "room-a", "a1", "", null));
+        submit("room-b", "b1");
+        assertThat(started).containsExactly("a1", "b1");
+    }
+
+    @Test
+    @DisplayName("participantCount가 저장되지 않은 기존 방도 참여자가 남아 있으면 작업을 유지")
+    void keepsJobsInLegacyRoomWithoutStoredCount() {
+        AiStreamHandler running = submit("room-a", "a1");
+        submit("room-a", "a2");
+        // backfill 전 문서: participantCount 없이 participantIds만 있음
+        when(roomRepository.hasParticipants("room-a")).thenReturn(true);
+
+        scheduler.onParticipantsChanged(new RoomParticipantsChangedEvent(this, "room-a", "user-1", false));
+
+        verify(running, never()).cancel();
+        assertThat(scheduler.queuedCount()).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any(AiMessageErrorEvent.class));
+    }
+}
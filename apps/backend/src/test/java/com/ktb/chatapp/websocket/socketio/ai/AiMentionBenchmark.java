@@ -0,0 +1,262 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ChatMessageRequest;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.RateLimitService;
+import com.ktb.chatapp.service.RoomActivityCounter;
+import com.ktb.chatapp.service.SessionService;
+import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.handler.ChatMessageHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_CHUNK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AI 멘션 처리 벤치마크 (StubChatModel, 동시 멘션 수별)
+ * ChatMessageHandler로 N개의 멘션을 동시에 보내고, 메시지 수신부터 첫 청크 소켓 전송/완료까지의 지연과
+ * 청크 간격, 서버 CPU 시간(토큰 1천 개당)을 출력한다.
+ * Mongo/Redis/Socket.IO는 mock이고, AiService/AiJobScheduler/AiStreamPacer/AiStreamEventBus는 실제 구현을 사용한다.
+ *
+ * 기본 테스트 실행에는 포함되지 않으며 다음과 같이 실행한다.
+ * ./mvnw test -Dtest=AiMentionBenchmark
+ */
+class AiMentionBenchmark {
+
+    private static final int[] CONCURRENT_MENTIONS = {16, 64, 256};
+    private static final int TOKENS_PER_SECOND = 50;
+    private static final int ANSWER_TOKENS_MEAN = 100;
+    private static final double ERROR_RATE = 0.02;
+
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastChunkAt = new ConcurrentHashMap<>();
+    private final List<Long> firstChunkNanos = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> chunkGapNanos = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> completeNanos = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private AiJobScheduler aiJobScheduler;
+    private AiService aiService;
+    private AiStreamEventBus aiStreamEventBus;
+    private CountDownLatch finished;
+
+    @Test
+    void mentionLatency() throws Exception {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(4);
+        taskScheduler.initialize();
+        try {
+            // JIT 워밍업 (출력하지 않음)
+            run(CONCURRENT_MENTIONS[0], taskScheduler, false);
+            System.out.printf("%-9s %-22s %-22s %-14s %-8s %-7s %-12s%n", "mentions",
+                    "first chunk p50/p95/p99", "complete p50/p95/p99", "gap p95 (ms)", "tokens", "errors",
+                    "cpu ms/1k tok");
+            for (int mentions : CONCURRENT_MENTIONS) {
+                run(mentions, taskScheduler, true);
+            }
+        } finally {
+            taskScheduler.shutdown();
+        }
+    }
+
+    private void run(int mentions, ThreadPoolTaskScheduler taskScheduler, boolean report) throws Exception {
+        sentAt.clear();
+        lastChunkAt.clear();
+        firstChunkNanos.clear();
+        chunkGapNanos.clear();
+        completeNanos.clear();
+        tokens.set(0);
+        errors.set(0);
+        finished = new CountDownLatch(mentions);
+
+        ChatMessageHandler handler = newHandler(taskScheduler);
+        SocketIOClient client = mock(SocketIOClient.class, withSettings().stubOnly());
+        when(client.get("user")).thenReturn(new SocketUser("user-1", "tester", "session-1", "socket-1"));
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuStart = os.getProcessCpuTime();
+
+        for (int i = 0; i < mentions; i++) {
+            String roomId = "room-" + report + "-" + mentions + "-" + i;
+            sentAt.put(roomId, System.nanoTime());
+            handler.handleChatMessage(client, ChatMessageRequest.builder()
+                    .room(roomId)
+                    .type("text")
+                    .content("@wayneAI 부하 테스트 질문 " + roomId)
+                    .build());
+        }
+        assertThat(finished.await(5, TimeUnit.MINUTES)).isTrue();
+        // 버스에 남은 청크까지 전송
+        aiStreamEventBus.stop();
+        if (!report) {
+            return;
+        }
+
+        long cpuNanos = os.getProcessCpuTime() - cpuStart;
+        long[] first = percentiles(firstChunkNanos);
+        long[] complete = percentiles(completeNanos);
+        long[] gap = percentiles(chunkGapNanos);
+        System.out.printf("%-9d %6.0f / %5.0f / %-7.0f %6.0f / %5.0f / %-7.0f %-14.1f %-8d %-7d %-12.2f%n",
+                mentions, ms(first[0]), ms(first[1]), ms(first[2]), ms(complete[0]), ms(complete[1]),
+                ms(complete[2]), ms(gap[1]), tokens.get(), errors.get(),
+                tokens.get() > 0 ? ms(cpuNanos) * 1000.0 / tokens.get() : 0.0);
+    }
+
+    private ChatMessageHandler newHandler(ThreadPoolTaskScheduler taskScheduler) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationEventPublisher eventPublisher = this::dispatch;
+
+        SocketIOServer socketIOServer = mock(SocketIOServer.class, withSettings().stubOnly());
+        Map<String, BroadcastOperations> rooms = new ConcurrentHashMap<>();
+        when(socketIOServer.getRoomOperations(anyString())).thenAnswer(invocation ->
+                rooms.computeIfAbsent(invocation.getArgument(0), this::roomOperations));
+
+        MessageRepository messageRepository = mock(MessageRepository.class, withSettings().stubOnly());
+        when(messageRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        RoomRepository roomRepository = mock(RoomRepository.class, withSettings().stubOnly());
+        when(roomRepository.findById(anyString())).thenAnswer(invocation -> {
+            Room room = new Room();
+            room.setId(invocation.getArgument(0));
+            room.setParticipantIds(new HashSet<>(Set.of("user-1")));
+            return Optional.of(room);
+        });
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        User user = new User();
+        user.setId("user-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        SessionService sessionService = mock(SessionService.class, withSettings().stubOnly());
+        when(sessionService.validateSession(anyString(), anyString())).thenReturn(SessionValidationResult.valid(null));
+        RateLimitService rateLimitService = mock(RateLimitService.class, withSettings().stubOnly());
+        when(rateLimitService.checkRateLimit(anyString(), anyInt(), any())).thenReturn(
+                RateLimitCheckResult.allowed(10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60));
+
+        StubChatModel stubChatModel = new StubChatModel();
+        ReflectionTestUtils.setField(stubChatModel, "tokensPerSecond", TOKENS_PER_SECOND);
+        ReflectionTestUtils.setField(stubChatModel, "answerTokensMean", ANSWER_TOKENS_MEAN);
+        ReflectionTestUtils.setField(stubChatModel, "errorRate", ERROR_RATE);
+        ChatModel countingModel = new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                return stubChatModel.call(prompt);
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(Prompt prompt) {
+                return stubChatModel.stream(prompt).doOnNext(response -> tokens.incrementAndGet());
+            }
+        };
+
+        AiResponseCache aiResponseCache = new AiResponseCache(meterRegistry);
+        ReflectionTestUtils.setField(aiResponseCache, "enabled", false);
+        aiJobScheduler = new AiJobScheduler(eventPublisher, roomRepository, meterRegistry);
+        aiStreamEventBus = new AiStreamEventBus(socketIOServer, meterRegistry);
+        aiStreamEventBus.start();
+        aiService = new AiService(ChatClient.builder(countingModel), eventPublisher, messageRepository,
+                new AiStreamPacer(socketIOServer, taskScheduler, meterRegistry), aiJobScheduler, aiResponseCache,
+                new ActiveStreamRegistry(meterRegistry), aiStreamEventBus);
+
+        return new ChatMessageHandler(socketIOServer, messageRepository, roomRepository, userRepository,
+                mock(FileRepository.class, withSettings().stubOnly()), aiService, sessionService,
+                mock(BannedWordChecker.class, withSettings().stubOnly()), rateLimitService, meterRegistry,
+                mock(RoomActivityCounter.class, withSettings().stubOnly()));
+    }
+
+    // 채팅방 소켓 전송 시점을 청크 도착 시간으로 기록
+    private BroadcastOperations roomOperations(String roomId) {
+        BroadcastOperations roomOperations = mock(BroadcastOperations.class, withSettings().stubOnly());
+        when(roomOperations.getClients()).thenReturn(List.of());
+        doAnswer(invocation -> {
+            if (AI_MESSAGE_CHUNK.equals(invocation.getArgument(0))
+                    && invocation.getArgument(1) instanceof Map<?, ?> data) {
+                long now = System.nanoTime();
+                Long previous = lastChunkAt.put((String) data.get("messageId"), now);
+                if (previous == null) {
+                    firstChunkNanos.add(now - sentAt.get(roomId));
+                } else {
+                    chunkGapNanos.add(now - previous);
+                }
+            }
+            return null;
+        }).when(roomOperations).sendEvent(anyString(), any(Object[].class));
+        return roomOperations;
+    }
+
+    // Spring 이벤트 리스너 대신 필요한 수신자에게 직접 전달
+    private void dispatch(Object event) {
+        long now = System.nanoTime();
+        switch (event) {
+            case AiMessageCompleteEvent complete -> {
+                completeNanos.add(now - sentAt.get(complete.getRoomId()));
+                aiJobScheduler.onAiMessageComplete(complete);
+                aiService.onAiMessageCompleteEvent(complete);
+                finished.countDown();
+            }
+            case AiMessageErrorEvent error -> {
+                errors.incrementAndGet();
+                aiJobScheduler.onAiMessageError(error);
+                aiService.onAiMessageErrorEvent(error);
+                finished.countDown();
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static long[] percentiles(List<Long> samples) {
+        List<Long> sorted;
+        synchronized (samples) {
+            sorted = new ArrayList<>(samples);
+        }
+        if (sorted.isEmpty()) {
+            return new long[] {0, 0, 0};
+        }
+        Collections.sort(sorted);
+        return new long[] {
+                sorted.get(sorted.size() / 2),
+                sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1),
+                sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1)
+        };
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
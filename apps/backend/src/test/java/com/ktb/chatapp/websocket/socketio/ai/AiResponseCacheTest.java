@@ -0,0 +1,146 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiResponseCacheTest {
+
+    private MutableClock clock;
+    private AiResponseCache cache;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new AiResponseCache(new SimpleMeterRegistry(), clock);
+        ReflectionTestUtils.setField(cache, "replayChunkChars", 4);
+        ReflectionTestUtils.setField(cache, "replayChunkDelayMs", 0L);
+    }
+
+    private Flux<ChunkData> upstream(String... tokens) {
+        upstreamCalls.incrementAndGet();
+        return Flux.just(tokens).map(ChunkData::from);
+    }
+
+    private static String join(List<ChunkData> chunks) {
+        StringBuilder content = new StringBuilder();
+        chunks.forEach(chunk -> content.append(chunk.currentChunk()));
+        return content.toString();
+    }
+
+    @Test
+    @DisplayName("완료된 응답은 정규화된 질문으로 캐시되어 모델 호출 없이 청크로 재생")
+    void replaysCompletedAnswerForNormalizedQuery() {
+        List<ChunkData> first = cache.stream(AiType.WAYNE_AI, "안녕  하세요",
+                () -> upstream("반가워요. ", "```code```", " 끝")).collectList().block();
+        List<ChunkData> second = cache.stream(AiType.WAYNE_AI, "  안녕 하세요 ",
+                () -> upstream("다른 응답")).collectList().block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(join(second)).isEqualTo(join(first)).isEqualTo("반가워요. ```code``` 끝");
+        assertThat(second).hasSizeGreaterThan(first.size());
+        // 재생 청크의 코드 블록 상태는 누적 기준으로 다시 계산
+        assertThat(second.getLast().codeBlock()).isFalse();
+
+        // 다른 페르소나는 별도 키
+        cache.stream(AiType.CONSULTING_AI, "안녕 하세요", () -> upstream("컨설팅")).blockLast();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("같은 질문이 생성 중이면 upstream 하나를 공유하고, 늦게 구독해도 처음부터 받음")
+    void sharesInFlightUpstream() {
+        Sinks.Many<ChunkData> sink = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> received1 = new CopyOnWriteArrayList<>();
+        List<String> received2 = new CopyOnWriteArrayList<>();
+
+        cache.stream(AiType.WAYNE_AI, "질문", () -> {
+            upstreamCalls.incrementAndGet();
+            return sink.asFlux();
+        }).subscribe(chunk -> received1.add(chunk.currentChunk()));
+        sink.tryEmitNext(ChunkData.from("첫 "));
+
+        cache.stream(AiType.WAYNE_AI, "질문", () -> upstream("중복 호출"))
+                .subscribe(chunk -> received2.add(chunk.currentChunk()));
+        sink.tryEmitNext(ChunkData.from("응답"));
+        sink.tryEmitComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(received1).containsExactly("첫 ", "응답");
+        assertThat(received2).containsExactly("첫 ", "응답");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("모든 구독자가 취소된 뒤 다시 구독되면 이전 실행의 부분 응답 없이 새로 누적해 저장")
+    void resubscribeAfterCancelStartsFresh() {
+        Flux<ChunkData> shared = cache.stream(AiType.WAYNE_AI, "질문", () -> upstream("첫 ", "응답"));
+
+        shared.take(1).blockLast();
+        shared.blockLast();
+
+        List<ChunkData> replayed = cache.stream(AiType.WAYNE_AI, "질문", () -> upstream("다른 응답"))
+                .collectList().block();
+        assertThat(join(replayed)).isEqualTo("첫 응답");
+    }
+
+    @Test
+    @DisplayName("TTL이 지나거나 최대 개수를 넘으면 다시 모델 호출")
+    void expiresByTtlAndEvictsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 1);
+        cache.stream(AiType.WAYNE_AI, "a", () -> upstream("A")).blockLast();
+        cache.stream(AiType.WAYNE_AI, "a", () -> upstream("A")).blockLast();
+        assertThat(upstreamCalls).hasValue(1);
+
+        clock.advance(Duration.ofMinutes(11));
+        cache.stream(AiType.WAYNE_AI, "a", () -> upstream("A")).blockLast();
+        assertThat(upstreamCalls).hasValue(2);
+
+        cache.stream(AiType.WAYNE_AI, "b", () -> upstream("B")).blockLast();
+        cache.stream(AiType.WAYNE_AI, "a", () -> upstream("A")).blockLast();
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
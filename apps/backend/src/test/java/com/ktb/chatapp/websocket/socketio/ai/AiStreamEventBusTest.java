@@ -0,0 +1,86 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiStreamEventBusTest {
+
+    @Mock
+    private SocketIOServer socketIOServer;
+
+    @Mock
+    private BroadcastOperations room1;
+
+    @Mock
+    private BroadcastOperations room2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AiStreamEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new AiStreamEventBus(socketIOServer, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("한 배치에서 채팅방별로 한 번만 조회하고 방 안의 순서를 유지")
+    void dispatchesBatchGroupedByRoomInOrder() {
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(room1);
+        when(socketIOServer.getRoomOperations("room-2")).thenReturn(room2);
+
+        // 소비 스레드 시작 전에 쌓아 한 배치로 처리
+        eventBus.publish("room-1", AI_MESSAGE_START, Map.of("messageId", "m1"));
+        eventBus.chunk("room-2", "m2", "b", 1, false);
+        eventBus.chunk("room-1", "m1", "a", 1, false);
+        eventBus.publish("room-1", AI_MESSAGE_COMPLETE, Map.of("_id", "saved-1"));
+        assertThat(eventBus.depth()).isEqualTo(4);
+        assertThat(meterRegistry.get("ai.stream.bus.depth").gauge().value()).isEqualTo(4.0);
+
+        eventBus.start();
+        eventBus.stop();
+
+        InOrder inOrder = inOrder(room1);
+        inOrder.verify(room1).sendEvent(eq(AI_MESSAGE_START), any(Object[].class));
+        inOrder.verify(room1).sendEvent(eq(AI_MESSAGE_CHUNK), any(Object[].class));
+        inOrder.verify(room1).sendEvent(eq(AI_MESSAGE_COMPLETE), any(Object[].class));
+        verify(room2).sendEvent(eq(AI_MESSAGE_CHUNK), any(Object[].class));
+        verify(socketIOServer, times(1)).getRoomOperations("room-1");
+        assertThat(eventBus.depth()).isZero();
+        assertThat(meterRegistry.get("ai.stream.bus.batch").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("capacity를 넘으면 청크만 버리고 상태 이벤트는 보낸다")
+    void dropsOnlyChunksWhenFull() {
+        ReflectionTestUtils.setField(eventBus, "capacity", 1);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(room1);
+
+        eventBus.chunk("room-1", "m1", "a", 1, false);
+        eventBus.chunk("room-1", "m1", "b", 2, false);
+        eventBus.publish("room-1", AI_MESSAGE_ERROR, Map.of("messageId", "m1"));
+
+        eventBus.start();
+        eventBus.stop();
+
+        verify(room1, times(1)).sendEvent(eq(AI_MESSAGE_CHUNK), any(Object[].class));
+        verify(room1).sendEvent(eq(AI_MESSAGE_ERROR), any(Object[].class));
+        assertThat(meterRegistry.get("ai.stream.bus.dropped").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,180 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AiStreamHandlerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SocketIOServer socketIOServer;
+
+    @Mock
+    private BroadcastOperations roomOperations;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private AiStreamEventBus eventBus;
+
+    @Mock
+    private ScheduledFuture<Object> scheduledFuture;
+
+    private AiStreamPacer pacer;
+
+    private StreamingSession session;
+
+    @BeforeEach
+    void setUp() {
+        pacer = new AiStreamPacer(socketIOServer, taskScheduler, new SimpleMeterRegistry());
+        // 타이머는 실행하지 않고 완료/크기 기준 flush만 검증
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+        when(roomOperations.getClients()).thenReturn(List.of());
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        session = StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .aiType("wayneAI")
+                .build();
+    }
+
+    private record Frame(String delta, long seq, boolean codeBlock) {
+    }
+
+    private List<Frame> frames() {
+        ArgumentCaptor<String> deltas = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Long> seqs = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Boolean> codeBlocks = ArgumentCaptor.forClass(Boolean.class);
+        verify(eventBus, atLeast(0)).chunk(eq("room-1"), eq("wayneAI-1"),
+                deltas.capture(), seqs.capture(), codeBlocks.capture());
+        return IntStream.range(0, deltas.getAllValues().size())
+                .mapToObj(i -> new Frame(deltas.getAllValues().get(i), seqs.getAllValues().get(i),
+                        codeBlocks.getAllValues().get(i)))
+                .toList();
+    }
+
+    private static Flux<ChunkData> chunks(String... tokens) {
+        AtomicBoolean codeBlockState = new AtomicBoolean(false);
+        return Flux.just(tokens).map(token -> ChunkData.from(token).updateCodeBlockState(codeBlockState));
+    }
+
+    @Test
+    @DisplayName("프레임 간격 안의 토큰은 하나의 delta로 묶고, 완료 시 남은 프레임과 누적 내용을 전달")
+    void coalescesTokensIntoFrameAndCompletesWithFullContent() {
+        chunks("안녕", "하세요", "!").subscribe(new AiStreamHandler(session, eventPublisher, pacer, eventBus));
+
+        assertThat(frames()).containsExactly(new Frame("안녕하세요!", 1, false));
+
+        // 프레임은 버스로만 보내고 Spring 이벤트는 완료 1건
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(events.capture());
+        AiMessageCompleteEvent complete = (AiMessageCompleteEvent) events.getValue();
+        assertThat(complete.getContent()).isEqualTo("안녕하세요!");
+        assertThat(session.snapshot()).isEqualTo(new StreamingSession.Snapshot("안녕하세요!", 1));
+    }
+
+    @Test
+    @DisplayName("frame-max-chars에 도달하면 바로 발행, 프레임의 코드 블록 상태는 마지막 청크 기준")
+    void flushesBySizeAndKeepsCodeBlockStateAcrossFrames() {
+        ReflectionTestUtils.setField(pacer, "frameMaxChars", 8);
+
+        chunks("```java", "\nint x;", "\n```", " done").subscribe(new AiStreamHandler(session, eventPublisher, pacer, eventBus));
+
+        assertThat(frames()).extracting(Frame::delta).containsExactly("```java\nint x;", "\n``` done");
+        assertThat(frames()).extracting(Frame::codeBlock).containsExactly(true, false);
+        assertThat(session.getContent()).isEqualTo("```java\nint x;\n``` done");
+    }
+
+    @Test
+    @DisplayName("제한된 demand로 요청하고, 보내지 못한 프레임이 max-buffered-chars를 넘으면 flush까지 요청 중지")
+    void boundsDemandAndPausesWhenFrameBufferIsFull() {
+        ReflectionTestUtils.setField(pacer, "frameMaxChars", 1_000_000);
+        ReflectionTestUtils.setField(pacer, "maxBufferedChars", 16);
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+
+        Flux.range(0, 100)
+                .map(i -> ChunkData.from("abcd"))
+                .doOnRequest(requests::add)
+                .subscribe(new AiStreamHandler(session, eventPublisher, pacer, eventBus));
+
+        // prefetch(32)만큼 받은 뒤 버퍼가 가득 차 추가 요청 없음
+        assertThat(requests).containsExactly(32L);
+        assertThat(frames()).isEmpty();
+
+        verify(taskScheduler).schedule(flush.capture(), any(Instant.class));
+        flush.getValue().run();
+
+        assertThat(frames()).extracting(Frame::delta)
+                .first().isEqualTo("abcd".repeat(32));
+        assertThat(requests).hasSizeGreaterThan(1).allSatisfy(n -> assertThat(n).isLessThanOrEqualTo(32L));
+    }
+
+    @Test
+    @DisplayName("같은 방의 스트림 하나가 끝나도 다른 스트림이 남아 있으면 방 상태를 유지하고, 종료가 여러 번 불려도 한 번만 놓음")
+    void keepsRoomPressureWhileAnotherStreamIsLive() {
+        AiStreamHandler live = new AiStreamHandler(session, eventPublisher, pacer, eventBus);
+        Sinks.many().unicast().<ChunkData>onBackpressureBuffer().asFlux().subscribe(live);
+
+        chunks("끝").subscribe(new AiStreamHandler(session, eventPublisher, pacer, eventBus));
+        assertThat(pacer.trackedRooms()).isEqualTo(1);
+
+        AiStreamHandler another = new AiStreamHandler(session, eventPublisher, pacer, eventBus);
+        Sinks.many().unicast().<ChunkData>onBackpressureBuffer().asFlux().subscribe(another);
+        live.cancel();
+        live.cancel();
+        assertThat(pacer.trackedRooms()).isEqualTo(1);
+
+        another.cancel();
+        assertThat(pacer.trackedRooms()).isZero();
+    }
+
+    @Test
+    @DisplayName("cancel 이후 늦게 도착한 청크는 버리고 방 상태를 다시 만들지 않음")
+    void dropsLateChunksAfterCancel() {
+        AiStreamHandler handler = new AiStreamHandler(session, eventPublisher, pacer, eventBus);
+        Sinks.many().unicast().<ChunkData>onBackpressureBuffer().asFlux().subscribe(handler);
+        handler.cancel();
+
+        handler.onNext(ChunkData.from("늦은 토큰"));
+
+        assertThat(pacer.trackedRooms()).isZero();
+        assertThat(pacer.currentInterval("room-1")).isEqualTo(pacer.getFrameIntervalMs());
+        assertThat(pacer.trackedRooms()).isZero();
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(frames()).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StubChatModelTest {
+
+    private StubChatModel stubChatModel;
+
+    @BeforeEach
+    void setUp() {
+        stubChatModel = new StubChatModel();
+        ReflectionTestUtils.setField(stubChatModel, "tokensPerSecond", 1000);
+        ReflectionTestUtils.setField(stubChatModel, "firstTokenLatencyMs", 0L);
+        ReflectionTestUtils.setField(stubChatModel, "firstTokenJitterMs", 0L);
+        ReflectionTestUtils.setField(stubChatModel, "answerTokensMean", 20);
+        ReflectionTestUtils.setField(stubChatModel, "answerTokensStddev", 5);
+    }
+
+    private List<String> streamedTokens(String query) {
+        return stubChatModel.stream(new Prompt(query))
+                .map(response -> response.getResult().getOutput().getText())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("같은 프롬프트는 같은 토큰을 스트리밍하고, 스트림 결과는 call 응답과 같다")
+    void stream_isDeterministicPerPrompt() {
+        List<String> first = streamedTokens("안녕하세요");
+        List<String> second = streamedTokens("안녕하세요");
+
+        assertThat(first).isNotEmpty().isEqualTo(second);
+        ChatResponse call = stubChatModel.call(new Prompt("안녕하세요"));
+        assertThat(call.getResult().getOutput().getText()).isEqualTo(String.join("", first));
+    }
+
+    @Test
+    @DisplayName("error-rate 1.0이면 응답 도중 에러로 끝난다")
+    void stream_failsAtErrorRate() {
+        ReflectionTestUtils.setField(stubChatModel, "errorRate", 1.0);
+
+        StepVerifier.create(stubChatModel.stream(new Prompt("안녕하세요")))
+                .thenConsumeWhile(response -> true)
+                .expectErrorMessage("Stub model error")
+                .verify(Duration.ofSeconds(5));
+    }
+}
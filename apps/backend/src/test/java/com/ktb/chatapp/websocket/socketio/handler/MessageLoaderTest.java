@@ -2,12 +2,17 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
 import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.ReadReceiptAggregator;
 import net.datafaker.Faker;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,10 +23,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +50,9 @@ class MessageLoaderTest {
     @Mock
     private MessageReadStatusService messageReadStatusService;
     
+    @Mock
+    private ReadReceiptAggregator readReceiptAggregator;
+    
     @InjectMocks
     private MessageLoader messageLoader;
     
@@ -61,8 +71,10 @@ class MessageLoaderTest {
                 messageRepository,
                 userRepository,
                 new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                messageReadStatusService,
+                readReceiptAggregator
         );
+        ReflectionTestUtils.setField(messageLoader, "syncMaxMessages", 10);
         
         var testUser = User.builder()
                 .id(userId)
@@ -81,7 +93,6 @@ class MessageLoaderTest {
         
         lenient().when(userRepository.findAllById(anySet()))
                 .thenReturn(List.of(testUser));
-        lenient().doNothing().when(messageReadStatusService).updateReadStatus(anyList(), anyString());
     }
     
     private Message createMessage(String id, LocalDateTime timestamp) {
@@ -177,4 +188,132 @@ class MessageLoaderTest {
         assertThat(result.getMessages()).isEmpty();
         assertThat(result.isHasMore()).isFalse();
     }
+    
+    @Test
+    @DisplayName("loadMessages: 읽음 정보는 채팅방 읽음 위치로부터 파생")
+    void loadMessages_shouldDeriveReadersFromWatermarks() {
+        List<Message> last30Messages = testMessages.subList(20, 50);
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(getMessagePage(last30Messages));
+        
+        // reader-1은 마지막 10개 이전까지, reader-2는 전부 읽음, 조회한 사용자는 flush 전 위치로 전부 읽음
+        Message lastReadByFirst = last30Messages.get(19);
+        Message newest = last30Messages.getLast();
+        when(messageReadStatusService.findWatermarks(roomId)).thenReturn(List.of(
+                RoomReadWatermark.builder().roomId(roomId).userId("reader-1")
+                        .lastReadTimestamp(lastReadByFirst.getTimestamp()).build(),
+                RoomReadWatermark.builder().roomId(roomId).userId("reader-2")
+                        .lastReadTimestamp(newest.getTimestamp()).build()
+        ));
+        
+        FetchMessagesResponse result = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null), userId);
+        
+        assertThat(result.getMessages().get(19).getReadCount()).isEqualTo(3);
+        assertThat(result.getMessages().get(20).getReadCount()).isEqualTo(2);
+        assertThat(result.getMessages().getLast().getReaders())
+                .extracting(Message.MessageReader::getUserId)
+                .containsExactly("reader-2", userId);
+        verify(readReceiptAggregator).submit(eq(userId), anyList());
+        verify(messageReadStatusService, never()).updateReadStatus(anyList(), anyString());
+    }
+    
+    @Test
+    @DisplayName("syncRoom: 커서 이후 메시지와 since 이후 리액션/읽음 변경분만 반환")
+    void syncRoom_shouldReturnDeltasAfterCursor() {
+        Message cursor = testMessages.get(44);
+        List<Message> newer = testMessages.subList(45, 50);
+        Message reacted = testMessages.get(40);
+        reacted.addReaction("👍", "reactor");
+        
+        when(messageRepository.findById(cursor.getId())).thenReturn(Optional.of(cursor));
+        List<Message> fromCursor = new ArrayList<>();
+        fromCursor.add(cursor);
+        fromCursor.addAll(newer);
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(
+                eq(roomId), eq(false), eq(cursor.getTimestamp()), any(Pageable.class)))
+                .thenReturn(fromCursor);
+        when(messageRepository.findReactionChanges(eq(roomId), any(LocalDateTime.class),
+                eq(cursor.getTimestamp()), any(Pageable.class)))
+                .thenReturn(List.of(reacted));
+        when(messageReadStatusService.findWatermarks(roomId)).thenReturn(List.of(
+                RoomReadWatermark.builder().roomId(roomId).userId("stale-reader")
+                        .lastReadTimestamp(testMessages.get(10).getTimestamp())
+                        .updatedAt(cursor.getTimestamp().minusHours(1)).build(),
+                RoomReadWatermark.builder().roomId(roomId).userId("fresh-reader")
+                        .lastReadMessageId(cursor.getId())
+                        .lastReadTimestamp(cursor.getTimestamp())
+                        .updatedAt(LocalDateTime.now()).build()
+        ));
+        
+        SyncRoomResponse result = messageLoader.syncRoom(
+                new SyncRoomRequest(roomId, cursor.getId(), null, null), userId);
+        
+        assertThat(result.isFullReload()).isFalse();
+        assertThat(result.getMessages())
+                .extracting(MessageResponse::getId)
+                .containsExactlyElementsOf(newer.stream().map(Message::getId).toList());
+        assertThat(result.getReactions()).singleElement()
+                .satisfies(reaction -> assertThat(reaction.getMessageId()).isEqualTo(reacted.getId()));
+        assertThat(result.getReads())
+                .extracting(SyncRoomResponse.ReadPosition::getUserId)
+                .contains("fresh-reader", userId)
+                .doesNotContain("stale-reader");
+        verify(readReceiptAggregator).submit(eq(userId), eq(newer));
+        verify(userRepository, times(1)).findAllById(anyCollection());
+    }
+    
+    @Test
+    @DisplayName("syncRoom: 새 메시지가 상한을 넘으면 fullReload")
+    void syncRoom_shouldRequestFullReloadWhenGapTooLarge() {
+        Message cursor = testMessages.get(30);
+        when(messageRepository.findById(cursor.getId())).thenReturn(Optional.of(cursor));
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(
+                eq(roomId), eq(false), eq(cursor.getTimestamp()), any(Pageable.class)))
+                .thenReturn(testMessages.subList(30, 42));
+        
+        SyncRoomResponse result = messageLoader.syncRoom(
+                new SyncRoomRequest(roomId, cursor.getId(), null, null), userId);
+        
+        assertThat(result.isFullReload()).isTrue();
+        assertThat(result.getMessages()).isEmpty();
+        verifyNoInteractions(readReceiptAggregator);
+    }
+    
+    @Test
+    @DisplayName("syncRoom: 다른 채팅방이거나 없는 커서는 fullReload")
+    void syncRoom_shouldRequestFullReloadForUnknownCursor() {
+        when(messageRepository.findById("missing")).thenReturn(Optional.empty());
+        
+        SyncRoomResponse result = messageLoader.syncRoom(
+                new SyncRoomRequest(roomId, "missing", null, null), userId);
+        
+        assertThat(result.isFullReload()).isTrue();
+        verify(messageRepository, never()).findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(
+                anyString(), anyBoolean(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("syncRoom: ephemeral 알림이 마지막 메시지이면 since 이후 메시지로 동기화")
+    void syncRoom_shouldFallBackToSinceAfterEphemeralNotice() {
+        Message lastSynced = testMessages.get(45);
+        List<Message> newer = testMessages.subList(46, 50);
+        long since = lastSynced.toTimestampMillis();
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampGreaterThanEqual(
+                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(newer);
+        when(messageRepository.findReactionChanges(eq(roomId), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        
+        SyncRoomResponse result = messageLoader.syncRoom(
+                new SyncRoomRequest(roomId, Message.EPHEMERAL_ID_PREFIX + "notice", since, null), userId);
+        
+        assertThat(result.isFullReload()).isFalse();
+        assertThat(result.getMessages())
+                .extracting(MessageResponse::getId)
+                .containsExactlyElementsOf(newer.stream().map(Message::getId).toList());
+        verify(messageRepository, never()).findById(anyString());
+    }
 }
@@ -0,0 +1,76 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.ActiveStreamRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.JOIN_ROOM_SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRejoinHandlerTest {
+
+    @Mock private RoomRepository roomRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private UserRooms userRooms;
+    @Mock private RoomListSubscriptionHandler roomListSubscriptionHandler;
+    @Mock private SocketIOClient client;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RoomRejoinHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RoomRejoinHandler(
+                roomRepository, userRepository, userRooms, roomListSubscriptionHandler,
+                new ActiveStreamRegistry(meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void rejoinRooms_readsOnceAndJoinsOnlyParticipatingRooms() {
+        Set<String> roomIds = Set.of("room-1", "room-2", "room-3");
+        when(userRooms.get("user-1")).thenReturn(roomIds);
+        when(userRepository.existsById("user-1")).thenReturn(true);
+        when(roomRepository.findJoinedRoomIds(roomIds, "user-1")).thenReturn(List.of(
+                Room.builder().id("room-1").build(),
+                Room.builder().id("room-2").build()));
+
+        handler.rejoinRooms(client, "user-1");
+
+        verify(userRepository, times(1)).existsById("user-1");
+        verify(roomRepository, times(1)).findJoinedRoomIds(roomIds, "user-1");
+        verify(client).joinRooms(Set.of("room-1", "room-2"));
+        verify(client, times(2)).sendEvent(eq(JOIN_ROOM_SUCCESS), any(Map.class));
+        verify(userRooms).set("user-1", Set.of("room-1", "room-2"));
+        verify(roomListSubscriptionHandler).onChatRoomJoined(client);
+        verifyNoMoreInteractions(roomRepository);
+
+        assertThat(meterRegistry.get("socketio.rejoin.rooms").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("socketio.rejoin.stale_rooms").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("socketio.rejoin.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejoinRooms_skipsWhenUserHasNoRooms() {
+        when(userRooms.get("user-1")).thenReturn(Set.of());
+
+        handler.rejoinRooms(client, "user-1");
+
+        verifyNoInteractions(userRepository, roomRepository, client);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import com.corundumstudio.socketio.store.MemoryStore;
+import com.corundumstudio.socketio.store.RedissonStore;
+import com.corundumstudio.socketio.store.Store;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 핸들러의 client.get("user") 비용 벤치마크 (RedissonStore / 로컬 MemoryStore)
+ * 세션 수만큼 store를 만들어 접속 시 set("user")을 하고, 이벤트마다 get("user")을 하는 것처럼
+ * 동시 스레드에서 임의 세션을 조회해 p50/p99 지연과 처리량을 측정한다.
+ * 끝나고 Redis에 남은 세션 키 수도 출력한다 (연결 종료 시 정리되지 않음).
+ *
+ * 기본 테스트 실행에는 포함되지 않으며(Docker 필요) 다음과 같이 실행한다.
+ * ./mvnw test -Dtest=ClientStoreBenchmark
+ */
+@Testcontainers
+class ClientStoreBenchmark {
+
+    private static final int SESSIONS = 2_000;
+    private static final int THREADS = 16;
+    private static final int GETS_PER_THREAD = 5_000;
+    private static final int WARMUP_GETS = 2_000;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @Test
+    void clientGetLatency() throws Exception {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+        RedissonClient redissonClient = Redisson.create(config);
+        try {
+            System.out.printf("%-14s %-12s %-10s %-10s %-12s %-10s%n",
+                    "store", "connect(ms)", "p50(us)", "p99(us)", "gets/s", "redisKeys");
+            run("redisson", () -> new RedissonStore(UUID.randomUUID(), redissonClient), redissonClient);
+            run("memory", MemoryStore::new, redissonClient);
+        } finally {
+            redissonClient.shutdown();
+        }
+    }
+
+    private void run(String name, Supplier<Store> storeFactory, RedissonClient redissonClient) throws Exception {
+        redissonClient.getKeys().flushdb();
+
+        List<Store> stores = new ArrayList<>(SESSIONS);
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            Store store = storeFactory.get();
+            store.set("user", new SocketUser("user-" + i, "user " + i, "auth-" + i, "socket-" + i));
+            stores.add(store);
+        }
+        double connectMs = (System.nanoTime() - connectStart) / 1_000_000.0;
+
+        measure(stores, WARMUP_GETS);
+        long start = System.nanoTime();
+        long[] latencies = measure(stores, GETS_PER_THREAD);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-14s %-12.1f %-10.1f %-10.1f %-12.0f %-10d%n",
+                name,
+                connectMs,
+                latencies[latencies.length / 2] / 1000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1000.0,
+                latencies.length / elapsedSeconds,
+                redissonClient.getKeys().count());
+    }
+
+    // 스레드마다 임의 세션의 user를 조회하고 조회별 지연(ns)을 반환
+    private long[] measure(List<Store> stores, int getsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[getsPerThread];
+                    for (int i = 0; i < getsPerThread; i++) {
+                        Store store = stores.get((seed * 7919 + i * 31) % stores.size());
+                        long begin = System.nanoTime();
+                        SocketUser user = store.get("user");
+                        latencies[i] = System.nanoTime() - begin;
+                        assertThat(user).isNotNull();
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[THREADS * getsPerThread];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import com.corundumstudio.socketio.store.Store;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class HybridStoreFactoryTest {
+
+    @Test
+    @DisplayName("createStore: 세션마다 독립된 로컬 store, pub/sub은 주어진 store 사용")
+    void createStore_keepsClientDataLocal() {
+        PubSubStore pubSubStore = mock(PubSubStore.class);
+        HybridStoreFactory factory = new HybridStoreFactory(pubSubStore);
+        SocketUser user = new SocketUser("user-1", "tester", "auth-1", "socket-1");
+
+        Store first = factory.createStore(UUID.randomUUID());
+        Store second = factory.createStore(UUID.randomUUID());
+        first.set("user", user);
+
+        assertThat((SocketUser) first.get("user")).isSameAs(user);
+        assertThat(second.has("user")).isFalse();
+        assertThat(factory.pubSubStore()).isSameAs(pubSubStore);
+
+        factory.shutdown();
+        verify(pubSubStore).shutdown();
+    }
+}
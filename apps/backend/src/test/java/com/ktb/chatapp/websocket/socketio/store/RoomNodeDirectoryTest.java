@@ -0,0 +1,155 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomNodeDirectoryTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RSet<Object> roomNodes;
+
+    @Mock
+    private RScoredSortedSet<Object> nodes;
+
+    private RoomNodeDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redissonClient.getSet(anyString(), any(Codec.class))).thenReturn(roomNodes);
+        lenient().when(redissonClient.getScoredSortedSet(anyString(), any(Codec.class))).thenReturn(nodes);
+        lenient().when(roomNodes.addAsync(any())).thenReturn(new CompletableFutureWrapper<>(true));
+        lenient().when(roomNodes.removeAsync(any())).thenReturn(new CompletableFutureWrapper<>(true));
+        directory = new RoomNodeDirectory(redissonClient, new SimpleMeterRegistry(),
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    private static CompletableFutureWrapper<Set<Object>> members(Object... nodeIds) {
+        return new CompletableFutureWrapper<>(Set.of(nodeIds));
+    }
+
+    @Test
+    @DisplayName("join/leave: 방의 첫 세션과 마지막 세션에서만 Redis를 비동기로 갱신")
+    void joinAndLeave_updateRedisOnTransitionsOnly() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String self = String.valueOf(directory.nodeId());
+
+        directory.join("room-1", first);
+        directory.join("room-1", second);
+        directory.join("room-1", first);
+        verify(roomNodes, times(1)).addAsync(self);
+
+        directory.leave("room-1", first);
+        verify(roomNodes, never()).removeAsync(any());
+        directory.leave("room-1", second);
+        verify(roomNodes).removeAsync(self);
+        assertThat(directory.localRoomCount()).isZero();
+        verify(roomNodes, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("leave: 같은 방의 등록이 끝나기 전에는 제거하지 않음")
+    void leave_waitsForPendingJoin() {
+        CompletableFuture<Boolean> pendingAdd = new CompletableFuture<>();
+        when(roomNodes.addAsync(any())).thenReturn(new CompletableFutureWrapper<>(pendingAdd));
+        UUID sessionId = UUID.randomUUID();
+
+        directory.join("room-1", sessionId);
+        directory.leave("room-1", sessionId);
+        verify(roomNodes, never()).removeAsync(any());
+
+        pendingAdd.complete(true);
+        verify(roomNodes).removeAsync(String.valueOf(directory.nodeId()));
+    }
+
+    @Test
+    @DisplayName("join: Redis 등록 실패는 다음 heartbeat에서 재시도")
+    void join_retriesFailedRegistrationOnHeartbeat() {
+        when(roomNodes.addAsync(any()))
+                .thenReturn(new CompletableFutureWrapper<>(new IllegalStateException("redis down")))
+                .thenReturn(new CompletableFutureWrapper<>(true));
+        when(nodes.entryRange(0, -1)).thenReturn(List.of());
+
+        directory.join("room-1", UUID.randomUUID());
+        directory.heartbeat();
+        directory.heartbeat();
+
+        verify(roomNodes, times(2)).addAsync(String.valueOf(directory.nodeId()));
+    }
+
+    @Test
+    @DisplayName("remoteNodes: 첫 조회는 null(전체 발행)로 두고 비동기로 읽은 뒤, 자기 자신과 heartbeat가 끊긴 노드를 뺌")
+    void remoteNodes_loadsAsynchronouslyAndExcludesSelfAndStaleNodes() {
+        String self = String.valueOf(directory.nodeId());
+        when(nodes.entryRange(0, -1)).thenReturn(List.of(
+                new ScoredEntry<>((double) NOW, self),
+                new ScoredEntry<>((double) NOW - 1000, "11"),
+                new ScoredEntry<>((double) NOW - 60_000, "12")));
+        directory.heartbeat();
+        CompletableFuture<Set<Object>> read = new CompletableFuture<>();
+        when(roomNodes.readAllAsync()).thenReturn(new CompletableFutureWrapper<>(read));
+
+        assertThat(directory.remoteNodes("room-1")).isNull();
+        assertThat(directory.remoteNodes("room-1")).isNull();
+        read.complete(Set.of(self, "11", "12", "13"));
+
+        // 13은 아직 heartbeat 목록에 없는 새 노드일 수 있으므로 포함
+        assertThat(directory.remoteNodes("room-1")).containsExactlyInAnyOrder(11L, 13L);
+        assertThat(directory.liveNodeCount()).isEqualTo(2);
+        verify(roomNodes).removeAsync("12");
+        verify(roomNodes, times(1)).readAllAsync();
+        verify(roomNodes, never()).readAll();
+    }
+
+    @Test
+    @DisplayName("remoteJoined: JOIN을 보낸 노드는 Redis 등록 전에 읽은 목록에도 포함")
+    void remoteJoined_addsSenderToCachedNodes() {
+        when(roomNodes.readAllAsync()).thenReturn(members()).thenReturn(members());
+
+        directory.remoteJoined(List.of("room-1"), 11L);
+        directory.remoteNodes("room-1");
+        assertThat(directory.remoteNodes("room-1")).containsExactly(11L);
+
+        directory.remoteJoined(List.of("room-1"), 12L);
+        assertThat(directory.remoteNodes("room-1")).containsExactlyInAnyOrder(11L, 12L);
+        verify(roomNodes, times(1)).readAllAsync();
+    }
+
+    @Test
+    @DisplayName("remoteNodes: Redis 조회 실패 시 null (전체 발행으로 대체)")
+    void remoteNodes_returnsNullOnFailure() {
+        when(roomNodes.readAllAsync())
+                .thenReturn(new CompletableFutureWrapper<>(new IllegalStateException("redis down")));
+
+        assertThat(directory.remoteNodes("room-1")).isNull();
+        assertThat(directory.remoteNodes("room-1")).isNull();
+    }
+}
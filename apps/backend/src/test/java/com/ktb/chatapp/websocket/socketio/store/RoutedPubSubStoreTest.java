@@ -0,0 +1,123 @@
+package com.ktb.chatapp.websocket.socketio.store;
+
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.corundumstudio.socketio.store.pubsub.BulkJoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutedPubSubStoreTest {
+
+    private static final long NODE_ID = 7L;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RoomNodeDirectory directory;
+
+    private final Map<String, RTopic> topics = new HashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private RoutedPubSubStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(directory.nodeId()).thenReturn(NODE_ID);
+        lenient().when(redissonClient.getTopic(anyString()))
+                .thenAnswer(invocation -> topics.computeIfAbsent(invocation.getArgument(0), name -> mock(RTopic.class)));
+        meterRegistry = new SimpleMeterRegistry();
+        store = new RoutedPubSubStore(redissonClient, directory, meterRegistry);
+    }
+
+    private static DispatchMessage dispatch(String room) {
+        return new DispatchMessage(room, new Packet(PacketType.MESSAGE), "");
+    }
+
+    @Test
+    @DisplayName("DISPATCH: 방에 소켓이 있는 노드 topic에만 발행하고 건너뛴 노드 수 기록")
+    void dispatch_publishesOnlyToRoomNodes() {
+        when(directory.remoteNodes("room-1")).thenReturn(Set.of(11L, 12L));
+        when(directory.liveNodeCount()).thenReturn(5);
+        DispatchMessage message = dispatch("room-1");
+
+        store.publish(PubSubType.DISPATCH, message);
+
+        verify(topics.get("dispatch:11")).publish(message);
+        verify(topics.get("dispatch:12")).publish(message);
+        assertThat(topics).doesNotContainKey("dispatch");
+        assertThat(message.getNodeId()).isEqualTo(NODE_ID);
+        assertThat(meterRegistry.get("socketio.dispatch.published").tag("mode", "routed").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("socketio.dispatch.avoided").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("DISPATCH: 다른 노드가 없으면 Redis 발행 없음")
+    void dispatch_skipsRedisWhenNoRemoteNode() {
+        when(directory.remoteNodes("user:1")).thenReturn(Set.of());
+        when(directory.liveNodeCount()).thenReturn(3);
+
+        store.publish(PubSubType.DISPATCH, dispatch("user:1"));
+
+        assertThat(topics).isEmpty();
+        assertThat(meterRegistry.get("socketio.dispatch.avoided").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("DISPATCH: 네임스페이스 기본 방과 목록 조회 실패는 공용 topic으로 발행")
+    void dispatch_fallsBackToBroadcast() {
+        when(directory.remoteNodes("room-1")).thenReturn(null);
+
+        store.publish(PubSubType.DISPATCH, dispatch(""));
+        store.publish(PubSubType.DISPATCH, dispatch("room-1"));
+
+        verify(directory, never()).remoteNodes("");
+        verify(topics.get("dispatch"), times(2)).publish(any(DispatchMessage.class));
+        assertThat(meterRegistry.get("socketio.dispatch.published").tag("mode", "broadcast").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JOIN/BULK_LEAVE: 이 노드의 방 참여를 기록한 뒤 기존 topic으로 전달")
+    void joinAndLeave_updateDirectory() {
+        UUID sessionId = UUID.randomUUID();
+
+        store.publish(PubSubType.JOIN, new JoinLeaveMessage(sessionId, "", ""));
+        store.publish(PubSubType.JOIN, new JoinLeaveMessage(sessionId, "room-1", ""));
+        store.publish(PubSubType.BULK_LEAVE, new BulkJoinLeaveMessage(sessionId, Set.of("", "room-1"), ""));
+
+        verify(directory).join("room-1", sessionId);
+        verify(directory, never()).join(eq(""), any());
+        verify(directory).leave("room-1", sessionId);
+        verify(topics.get("join"), times(2)).publish(any(JoinLeaveMessage.class));
+        verify(topics.get("bulk_leave")).publish(any(BulkJoinLeaveMessage.class));
+    }
+
+    @Test
+    @DisplayName("subscribe(DISPATCH): 공용 topic과 이 노드 전용 topic을 함께 구독")
+    void subscribeDispatch_listensOnSharedAndNodeTopic() {
+        store.subscribe(PubSubType.DISPATCH, message -> { }, DispatchMessage.class);
+
+        verify(topics.get("dispatch")).addListener(any(), any());
+        verify(topics.get("dispatch:" + NODE_ID)).addListener(eq(DispatchMessage.class), any());
+    }
+}
@@ -104,6 +104,7 @@ export const useChatRoom = () => {
         socketRef.current.off('previousMessages');
         socketRef.current.off('previousMessagesLoaded');
         socketRef.current.off('participantsUpdate');
+        socketRef.current.off('participantsDelta');
         socketRef.current.off('messagesRead');
         socketRef.current.off('messageReactionUpdate');
         socketRef.current.off('session_ended');
@@ -219,6 +220,20 @@ export const useChatRoom = () => {
       }));
     });
 
+    // 참가자 변경분 이벤트 (delta-mode): 입장자 추가, 퇴장자 제거
+    socketRef.current.on('participantsDelta', ({ added = [], removed = [] }) => {
+      if (!mountedRef.current) return;
+      setRoom(prev => {
+        if (!prev) return prev;
+        const removedIds = new Set([...removed, ...added.map(user => user._id || user.id)]);
+        const kept = (prev.participants || []).filter(user => !removedIds.has(user._id || user.id));
+        return {
+          ...prev,
+          participants: [...kept, ...added]
+        };
+      });
+    });
+
     // 읽음 상태 업데이트 이벤트 (메시지 목록의 readers 배열 업데이트)
     socketRef.current.on('messagesRead', ({ userId, messageIds, timestamp }) => {
       if (!mountedRef.current) return;
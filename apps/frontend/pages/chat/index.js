@@ -220,15 +220,17 @@ function ChatRoomsComponent() {
         status
     } = useInfiniteQuery({
         queryKey: roomsQueryKey,
-        queryFn: async ({ pageParam = 0 }) => {
+        queryFn: async ({ pageParam = { page: 0 } }) => {
             await attemptConnection();
 
             const response = await axiosInstance.get('/api/rooms', {
                 params: {
-                    page: pageParam,
+                    page: pageParam.page,
                     pageSize: INITIAL_PAGE_SIZE,
                     sortField: sorting[0]?.id,
-                    sortOrder: sorting[0]?.desc ? 'desc' : 'asc'
+                    sortOrder: sorting[0]?.desc ? 'desc' : 'asc',
+                    // createdAt 정렬이면 서버가 내려준 커서로 이어서 조회
+                    after: pageParam.after
                 }
             });
 
@@ -241,13 +243,16 @@ function ChatRoomsComponent() {
             return {
                 rooms: roomData,
                 metadata,
-                page: pageParam
+                page: pageParam.page
             };
         },
-        initialPageParam: 0,
+        initialPageParam: { page: 0 },
         getNextPageParam: (lastPage) => {
             if (!lastPage?.metadata?.hasMore) return undefined;
-            return (lastPage.page ?? 0) + 1;
+            return {
+                page: (lastPage.page ?? 0) + 1,
+                after: lastPage.metadata.nextCursor ?? undefined
+            };
         },
         enabled: !!currentUser?.token,
         retry: RETRY_CONFIG.maxRetries,
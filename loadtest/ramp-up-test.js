@@ -295,7 +295,9 @@ class RampUpLoadTester {
           },
           params: {
             page: 0,
-            pageSize: 10
+            pageSize: 10,
+            // total은 요청할 때만 포함됨 (서버에서 근사값을 캐시)
+            includeTotal: true
           },
           timeout: 5000
         }